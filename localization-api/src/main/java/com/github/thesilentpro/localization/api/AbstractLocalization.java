@@ -2,16 +2,42 @@ package com.github.thesilentpro.localization.api;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import com.github.thesilentpro.localization.api.loader.IncrementalReceiverDataLoader;
 import com.github.thesilentpro.localization.api.loader.LanguageLoader;
+import com.github.thesilentpro.localization.api.loader.LazyLanguageLoader;
+import com.github.thesilentpro.localization.api.loader.LazyReceiverDataLoader;
 import com.github.thesilentpro.localization.api.loader.ReceiverDataLoader;
+import com.github.thesilentpro.localization.api.metrics.LocalizationMetrics;
+import com.github.thesilentpro.localization.api.metrics.LookupOutcome;
+import com.github.thesilentpro.localization.api.metrics.RenderStage;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 /**
  * An abstract implementation of {@link Localization}.
+ * <p>
+ * Languages are kept in an immutable snapshot which is replaced as a whole whenever languages are loaded,
+ * so lookups never lock and never observe a partially loaded state. Receiver data is kept in a {@link ConcurrentHashMap},
+ * unless a specialized store such as {@link UUIDReceiverMap} is passed to the constructor.
+ * <p>
+ * Every language is merged with its fallback chain into a {@link ResolvedLanguage} before being published,
+ * so a lookup is a single probe regardless of the number of fallback levels.
+ * Unless configured through {@link #setFallbacks(String, String...)}, the chain of a language is derived from its id,
+ * e.g. {@code pt_BR -> pt -> default language}.
  *
  * @param <T> Message return type
  * @param <A> Argument type
@@ -22,12 +48,40 @@ import java.util.function.UnaryOperator;
 public abstract class AbstractLocalization<T, A, R> implements Localization<T, A, R> {
 
     private final String defaultLanguage;
-    private final Map<String, Language<T>> languages; // Lang ID, Language data
+    private volatile Map<String, Language<T>> languages; // Lang ID, Language data (immutable snapshot)
+    private volatile Map<String, ResolvedLanguage<T>> resolved; // Lang ID, Language merged with its fallbacks (immutable snapshot)
+    private final Map<String, List<String>> fallbacks = new ConcurrentHashMap<>(); // Lang ID, Configured fallbacks
+    private final Object languagesLock = new Object(); // Guards writers of the languages snapshot
+    private LanguageLoader<T> loader; // Supplied the current snapshot, guarded by the languages lock
+    private final MessageKeys keys = new MessageKeys(); // Shared by all loaded languages
 
-    private final Map<R, String> data; // Receiver ID, Lang
+    // Lazy loading
+    private volatile LazyLanguageLoader<T> lazyLoader;
+    private volatile Set<String> available = Collections.emptySet(); // Lang IDs that can be loaded
+    private final Map<String, AtomicLong> lastUsed = new ConcurrentHashMap<>(); // Lang ID, Last lookup (nanos)
+    private final Set<String> failed = ConcurrentHashMap.newKeySet(); // Lang IDs that failed to load, retried after the next reload
+    private volatile int maxLanguages = Integer.MAX_VALUE;
+    private volatile long idleNanos = Long.MAX_VALUE;
 
-    private String consoleLanguage;
-    private BiConsumer<ConsoleLogLevel, T> consoleLogFunction = (level, message) -> System.out.println("[" + level.name() + "]: " + message);
+    private final ConcurrentMap<R, String> data; // Receiver ID, Lang
+    private volatile IncrementalReceiverDataLoader<R> receiverDataLoader; // Notified of every change, if present
+    private final Set<R> dirty = ConcurrentHashMap.newKeySet(); // Receivers changed since the last save
+    private final Object saveLock = new Object(); // Serializes saves
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    private volatile ReceiverDataLoader<R> autoSaveLoader;
+    private volatile ScheduledExecutorService autoSaveExecutor;
+    private volatile long autoSaveDebounceMillis;
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    private volatile ExecutorService writeExecutor; // Writes changes to the incremental loader while the auto save is off, created on demand
+    private final Object writeExecutorLock = new Object(); // Guards creating and closing the write executor, never held while saving
+
+    private volatile LocalizationMetrics metrics; // Null if disabled
+    private volatile long slowRenderNanos = TimeUnit.MILLISECONDS.toNanos(5);
+    private volatile RenderCache<T> renderCache; // Null if disabled
+    private final AtomicLong renderVersion = new AtomicLong(); // Incremented whenever rendered output may have changed
+
+    private volatile String consoleLanguage;
+    private volatile BiConsumer<ConsoleLogLevel, T> consoleLogFunction = (level, message) -> System.out.println("[" + level.name() + "]: " + message);
 
     /**
      * Creates a new {@link Localization} instance.
@@ -35,12 +89,24 @@ public abstract class AbstractLocalization<T, A, R> implements Localization<T, A
      * @param defaultLanguage The default language. Default: en
      */
     public AbstractLocalization(@Nullable String defaultLanguage) {
+        this(defaultLanguage, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Creates a new {@link Localization} instance.
+     *
+     * @param defaultLanguage The default language. Default: en
+     * @param receiverData The map used to store receiver languages, e.g. {@link UUIDReceiverMap}. Its conditional operations must be atomic.
+     */
+    protected AbstractLocalization(@Nullable String defaultLanguage, @NotNull ConcurrentMap<R, String> receiverData) {
+        notNull(receiverData, "Receiver data must not be null!");
         defaultLanguage = defaultLanguage != null ? defaultLanguage : "en";
 
         this.defaultLanguage = defaultLanguage;
         this.consoleLanguage = defaultLanguage;
-        this.languages = new HashMap<>();
-        this.data = new HashMap<>();
+        this.languages = Collections.emptyMap();
+        this.resolved = Collections.emptyMap();
+        this.data = receiverData;
     }
 
     public AbstractLocalization() {
@@ -60,39 +126,135 @@ public abstract class AbstractLocalization<T, A, R> implements Localization<T, A
         notNull(receiver, "Receiver must not be null!");
         notNull(key, "Key must not be null!");
 
-        Language<T> language = languages.get(data.getOrDefault(receiver, defaultLanguage));
-        if (language == null) {
-            return Optional.empty();
-        }
+        ResolvedLanguage<T> language = resolve(data.getOrDefault(receiver, defaultLanguage));
+        T message = language != null ? language.getMessage(key) : null;
+        record(language, key, message);
+        return Optional.ofNullable(message);
+    }
 
-        Map<String, T> messages = language.getMessages();
-        if (messages == null) {
-            return Optional.empty();
-        }
+    /**
+     * Retrieve a message like {@link #getMessage(Object, String)} without counting the lookup in the {@link #setMetrics(LocalizationMetrics) metrics},
+     * for checks made in addition to a lookup that is counted.
+     *
+     * @param receiver The receiver.
+     * @param key The message key.
+     * @return If present, the message, otherwise an empty {@link Optional}
+     */
+    @NotNull
+    protected Optional<T> peekMessage(@NotNull R receiver, @NotNull String key) {
+        ResolvedLanguage<T> language = resolve(data.getOrDefault(receiver, defaultLanguage));
+        return Optional.ofNullable(language != null ? language.getMessage(key) : null);
+    }
 
-        T message = messages.get(key);
-        if (message == null) {
-            // Message not specified in language data, attempt to find it in the main one.
-            messages = languages.get(defaultLanguage).getMessages();
-            message = messages.get(key);
-        }
+    /**
+     * Retrieve a message by the receiver's language and a key handle.
+     *
+     * @param receiver The receiver.
+     * @param key The message key handle.
+     * @return If present, the message, otherwise an empty {@link Optional}
+     */
+    @Override
+    @NotNull
+    public Optional<T> getMessage(@NotNull R receiver, @NotNull MessageKey key) {
+        notNull(receiver, "Receiver must not be null!");
+        notNull(key, "Key must not be null!");
 
+        ResolvedLanguage<T> language = resolve(data.getOrDefault(receiver, defaultLanguage));
+        T message = language != null ? language.getMessage(key) : null;
+        record(language, key.getKey(), message);
         return Optional.ofNullable(message);
     }
 
+    @Override
+    @NotNull
+    public MessageKey key(@NotNull String key) {
+        notNull(key, "Key must not be null!");
+        return keys.of(key);
+    }
+
     @Override
     public abstract void sendTranslatedMessage(@NotNull R receiver, @NotNull T message);
 
     @Override
     public abstract void sendMessage(@NotNull R receiver, @NotNull String key, @Nullable UnaryOperator<T> function, @Nullable A... args);
 
+    @Override
+    @NotNull
+    public abstract Optional<T> renderMessage(@NotNull R receiver, @NotNull String key, @Nullable UnaryOperator<T> function, @Nullable A... args);
+
+    @Override
+    @NotNull
+    public BoundMessage<T, A, R> bind(@NotNull R receiver, @NotNull String key, @Nullable UnaryOperator<T> function, @NotNull BiConsumer<R, T> sink) {
+        notNull(receiver, "Receiver must not be null!");
+        notNull(key, "Key must not be null!");
+        notNull(sink, "Sink must not be null!");
+        return new BoundMessage<>(this, receiver, key, function, sink);
+    }
+
+    /**
+     * Check whether a message renders differently per receiver or over time even with the same arguments, e.g. because it contains external placeholders.
+     * Such messages are rendered on every {@link BoundMessage#update(Object[])}. By default, messages are considered static.
+     *
+     * @param receiver The receiver.
+     * @param key The message key.
+     * @return True if the message has to be rendered again on every update.
+     */
+    protected boolean isReceiverDependent(@NotNull R receiver, @NotNull String key) {
+        return false;
+    }
+
+    /**
+     * Sends a message to multiple receivers.
+     * Receivers are grouped by language, so the message is looked up once per language and,
+     * if {@link #renderBroadcast(Object, Object)} supports it, rendered once per language.
+     *
+     * @param key The message key.
+     * @param receivers Receivers to send the message to.
+     */
     @Override
     public void sendMessages(@NotNull String key, @NotNull R... receivers) {
+        notNull(key, "Key must not be null!");
+        notNull(receivers, "Receivers must not be null!");
+
+        Map<String, List<R>> groups = new HashMap<>(); // Lang ID, Receivers
         for (R receiver : receivers) {
-            sendMessage(receiver, key);
+            groups.computeIfAbsent(data.getOrDefault(receiver, defaultLanguage), lang -> new ArrayList<>()).add(receiver);
+        }
+
+        for (Map.Entry<String, List<R>> group : groups.entrySet()) {
+            ResolvedLanguage<T> language = resolve(group.getKey());
+            T message = language != null ? language.getMessage(key) : null;
+            record(language, key, message);
+            if (message == null) {
+                continue;
+            }
+
+            T shared = renderBroadcast(null, message);
+            for (R receiver : group.getValue()) {
+                T rendered = shared != null ? shared : renderBroadcast(receiver, message);
+                if (rendered != null) {
+                    sendTranslatedMessage(receiver, rendered);
+                } else {
+                    sendMessage(receiver, key);
+                }
+            }
         }
     }
 
+    /**
+     * Renders a message for {@link #sendMessages(String, Object[]) broadcasting}, without any arguments or function.
+     * Implementations should only do the receiver dependent work (e.g. placeholders) when a receiver is given.
+     * By default, broadcasting is not supported and every receiver is sent the message through {@link #sendMessage(Object, String)}.
+     *
+     * @param receiver The receiver, or null to render a version shared by all receivers of the language.
+     * @param message The message, as looked up for the receivers' language.
+     * @return The rendered message, or null if it can not be rendered (for this receiver).
+     */
+    @Nullable
+    protected T renderBroadcast(@Nullable R receiver, @NotNull T message) {
+        return null;
+    }
+
     // Console
 
     @Override
@@ -109,19 +271,26 @@ public abstract class AbstractLocalization<T, A, R> implements Localization<T, A
     public @NotNull Optional<T> getConsoleMessage(@NotNull String key) {
         notNull(key, "Key must not be null!");
 
-        Map<String, T> messages = languages.get(consoleLanguage != null ? consoleLanguage : defaultLanguage).getMessages();
-        if (messages == null) {
-            return Optional.empty();
-        }
+        String consoleLanguage = this.consoleLanguage;
+        ResolvedLanguage<T> language = resolve(consoleLanguage != null ? consoleLanguage : defaultLanguage);
+        T message = language != null ? language.getMessage(key) : null;
+        record(language, key, message);
+        return Optional.ofNullable(message);
+    }
 
-        T message = messages.get(key);
+    /**
+     * Count the outcome of a lookup, if metrics are enabled.
+     */
+    private void record(@Nullable ResolvedLanguage<T> language, String key, @Nullable T message) {
+        LocalizationMetrics metrics = this.metrics;
+        if (metrics == null) {
+            return;
+        }
         if (message == null) {
-            // Message not specified in language file, attempt to find it in the main one.
-            messages = languages.get(defaultLanguage).getMessages();
-            message = messages.get(key);
+            metrics.recordLookup(LookupOutcome.MISS);
+        } else {
+            metrics.recordLookup(language.isInherited(key) ? LookupOutcome.FALLBACK : LookupOutcome.HIT);
         }
-
-        return Optional.ofNullable(message);
     }
 
     @Override
@@ -138,29 +307,650 @@ public abstract class AbstractLocalization<T, A, R> implements Localization<T, A
      * @return Number of files loaded.
      */
     public int loadLanguages(@NotNull LanguageLoader<T> loader) throws IOException {
-        this.languages.putAll(loader.load());
-        return this.languages.size();
+        Map<String, Language<T>> loaded = loader.load(); // Parse outside the lock
+        synchronized (languagesLock) {
+            Map<String, Language<T>> merged = new HashMap<>(this.languages);
+            merged.putAll(loaded);
+            onLanguagesLoaded(loader, merged);
+            this.loader = loader;
+            publish(merged);
+            return merged.size();
+        }
+    }
+
+    /**
+     * Reload all languages, replacing the currently loaded ones with a single atomic swap.
+     * Languages that fail to load are kept as they are, see {@link LanguageLoader#reload(Map)}.
+     *
+     * @return Number of languages loaded.
+     */
+    @Override
+    public int reloadLanguages(@NotNull LanguageLoader<T> loader) throws IOException {
+        if (loader == this.lazyLoader) {
+            return reloadLazily(this.lazyLoader);
+        }
+
+        Map<String, Language<T>> loaded = new HashMap<>(loader.reload(this.languages)); // Parse outside the lock
+        synchronized (languagesLock) {
+            onLanguagesLoaded(loader, loaded);
+            this.loader = loader;
+            publish(loaded);
+            return loaded.size();
+        }
+    }
+
+    /**
+     * Index the available languages and only load a language once it is first needed.
+     *
+     * @return Number of languages available.
+     */
+    @Override
+    public int loadLanguagesLazily(@NotNull LazyLanguageLoader<T> loader, int maxLanguages, @Nullable Duration idle) throws IOException {
+        notNull(loader, "Loader must not be null!");
+        if (maxLanguages < 1) {
+            throw new IllegalArgumentException("Max languages must be at least 1!");
+        }
+
+        Set<String> available = Set.copyOf(loader.index());
+        synchronized (languagesLock) {
+            this.lazyLoader = loader;
+            this.available = available;
+            this.maxLanguages = maxLanguages;
+            this.idleNanos = idle != null ? idle.toNanos() : Long.MAX_VALUE;
+            this.lastUsed.clear();
+            this.failed.clear();
+            onLanguagesLoaded(loader, new HashMap<>());
+            this.loader = loader;
+            publish(new HashMap<>());
+        }
+
+        resolve(defaultLanguage); // Pinned
+        return available.size();
+    }
+
+    private int reloadLazily(LazyLanguageLoader<T> loader) throws IOException {
+        Set<String> available = Set.copyOf(loader.index());
+        Map<String, Language<T>> current = this.languages;
+        Map<String, Language<T>> loaded = new HashMap<>();
+        for (String id : current.keySet()) {
+            if (available.contains(id)) {
+                try {
+                    loader.load(id).ifPresent(language -> loaded.put(id, language));
+                } catch (IOException | RuntimeException ex) {
+                    // Keep the loaded version, e.g. of a file saved halfway through editing
+                    loaded.put(id, current.get(id));
+                    //noinspection CallToPrintStackTrace
+                    ex.printStackTrace();
+                }
+            }
+        }
+
+        synchronized (languagesLock) {
+            this.available = available;
+            this.lastUsed.keySet().retainAll(loaded.keySet());
+            this.failed.clear();
+            onLanguagesLoaded(loader, loaded);
+            this.loader = loader;
+            publish(loaded);
+        }
+        return available.size();
+    }
+
+    /**
+     * Look up the resolved language, loading it first if loading lazily.
+     */
+    @Nullable
+    private ResolvedLanguage<T> resolve(String lang) {
+        ResolvedLanguage<T> language = resolved.get(lang);
+        if (this.lazyLoader == null) {
+            return language;
+        }
+
+        if (language != null) {
+            AtomicLong used = lastUsed.get(lang);
+            if (used != null) {
+                used.setOpaque(System.nanoTime());
+            }
+            return language;
+        }
+        return loadLazily(lang);
+    }
+
+    @Nullable
+    private ResolvedLanguage<T> loadLazily(String lang) {
+        LazyLanguageLoader<T> loader = this.lazyLoader;
+        if (loader == null || !this.available.contains(lang)) {
+            return null;
+        }
+
+        // Parse the language and its missing fallbacks outside the lock.
+        // Concurrent misses may parse the same language twice, the first one published wins.
+        // Languages that failed to load are not retried until the next reload.
+        Map<String, Language<T>> current = this.languages;
+        Map<String, Language<T>> loaded = new HashMap<>();
+        for (String id : getFallbackChain(lang)) {
+            if (!current.containsKey(id) && this.available.contains(id) && !this.failed.contains(id)) {
+                try {
+                    loader.load(id).ifPresent(language -> loaded.put(id, language));
+                } catch (IOException | RuntimeException ex) {
+                    this.failed.add(id);
+                    //noinspection CallToPrintStackTrace
+                    ex.printStackTrace();
+                }
+            }
+        }
+        if (loaded.isEmpty()) {
+            return resolved.get(lang);
+        }
+
+        synchronized (languagesLock) {
+            if (loader != this.lazyLoader) {
+                return resolved.get(lang);
+            }
+
+            Map<String, Language<T>> merged = new HashMap<>(this.languages);
+            long now = System.nanoTime();
+            for (Map.Entry<String, Language<T>> entry : loaded.entrySet()) {
+                if (merged.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                    lastUsed.put(entry.getKey(), new AtomicLong(now));
+                }
+            }
+            evict(merged, now, loaded.keySet());
+            onLanguagesLoaded(loader, merged);
+            this.loader = loader;
+            publish(merged);
+            return resolved.get(lang);
+        }
+    }
+
+    /**
+     * Evict languages which were not used within the idle limit.
+     * Also happens whenever a language is loaded lazily, call this periodically to evict without further loads.
+     *
+     * @return Number of languages evicted.
+     */
+    public int evictIdleLanguages() {
+        LazyLanguageLoader<T> loader = this.lazyLoader;
+        if (loader == null) {
+            return 0;
+        }
+
+        synchronized (languagesLock) {
+            Map<String, Language<T>> merged = new HashMap<>(this.languages);
+            int evicted = evict(merged, System.nanoTime(), Collections.emptySet());
+            if (evicted > 0) {
+                onLanguagesLoaded(loader, merged);
+                this.loader = loader;
+                publish(merged);
+            }
+            return evicted;
+        }
+    }
+
+    /**
+     * Evict idle languages, then the least recently used ones until at most the maximum is loaded. Must hold the languages lock.
+     *
+     * @param retain Languages that must not be evicted, e.g. because they were just loaded.
+     * @return Number of languages evicted.
+     */
+    private int evict(Map<String, Language<T>> languages, long now, Set<String> retain) {
+        int evicted = 0;
+        List<String> candidates = new ArrayList<>(languages.keySet());
+        candidates.sort(Comparator.comparingLong(id -> lastUsed(id)));
+
+        for (String id : candidates) {
+            boolean idle = now - lastUsed(id) > idleNanos;
+            if (!idle && languages.size() <= maxLanguages) {
+                break;
+            }
+            if (retain.contains(id) || !isEvictable(id, languages)) {
+                continue;
+            }
+            languages.remove(id);
+            lastUsed.remove(id);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    private long lastUsed(String id) {
+        AtomicLong used = lastUsed.get(id);
+        return used != null ? used.getOpaque() : Long.MIN_VALUE;
+    }
+
+    /**
+     * The default language and fallbacks of other loaded languages stay pinned.
+     */
+    private boolean isEvictable(String id, Map<String, Language<T>> languages) {
+        if (id.equals(defaultLanguage)) {
+            return false;
+        }
+        for (String other : languages.keySet()) {
+            if (!other.equals(id) && getFallbackChain(other).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolve the fallback chains and publish a new snapshot. Must hold the languages lock.
+     */
+    private void publish(Map<String, Language<T>> languages) {
+        Map<String, ResolvedLanguage<T>> resolved = new HashMap<>(languages.size() * 2);
+        for (Map.Entry<String, Language<T>> entry : languages.entrySet()) {
+            resolved.put(entry.getKey(), resolve(entry.getKey(), languages));
+
+            // Messages changed directly on the language must be merged again
+            entry.getValue().onChange(this::refresh);
+        }
+
+        this.resolved = Collections.unmodifiableMap(resolved);
+        this.languages = Collections.unmodifiableMap(languages);
+        invalidateRenderCache(); // After the swap, so no render of the old snapshot is stored
+    }
+
+    private ResolvedLanguage<T> resolve(String language, Map<String, Language<T>> languages) {
+        List<Language<T>> chain = new ArrayList<>();
+        for (String id : getFallbackChain(language)) {
+            Language<T> fallback = languages.get(id);
+            if (fallback != null) {
+                chain.add(fallback);
+            }
+        }
+        return ResolvedLanguage.resolve(chain, keys);
+    }
+
+    /**
+     * Merge the languages whose fallback chain contains a changed language again, e.g. after {@link Language#setMessage(String, Object)}.
+     * Implementations are notified through {@link #onLanguagesLoaded(LanguageLoader, Map)}, so changed messages are compiled.
+     */
+    private void refresh(Language<T> changed) {
+        synchronized (languagesLock) {
+            Map<String, Language<T>> languages = this.languages;
+            if (languages.get(changed.getId()) != changed) {
+                return; // No longer loaded
+            }
+
+            Map<String, ResolvedLanguage<T>> resolved = new HashMap<>(this.resolved);
+            for (String id : languages.keySet()) {
+                if (getFallbackChain(id).contains(changed.getId())) {
+                    resolved.put(id, resolve(id, languages));
+                }
+            }
+
+            if (this.loader != null) {
+                onLanguagesLoaded(this.loader, new HashMap<>(languages));
+            }
+            this.resolved = Collections.unmodifiableMap(resolved);
+            invalidateRenderCache();
+        }
+    }
+
+    /**
+     * Resolve the fallback chains of all loaded languages again.
+     */
+    private void refresh() {
+        synchronized (languagesLock) {
+            publish(new HashMap<>(this.languages));
+        }
+    }
+
+    /**
+     * Configure the fallback chain of a language, replacing the one derived from its id.
+     * The default language is always appended as the last fallback. All loaded languages are resolved again.
+     *
+     * @param language The language id.
+     * @param fallbacks The fallback language ids, most specific first. Pass none to restore the derived chain.
+     */
+    public void setFallbacks(@NotNull String language, @NotNull String... fallbacks) {
+        notNull(language, "Language must not be null!");
+        notNull(fallbacks, "Fallbacks must not be null!");
+        if (fallbacks.length == 0) {
+            this.fallbacks.remove(language);
+        } else {
+            this.fallbacks.put(language, List.of(fallbacks));
+        }
+        refresh();
+    }
+
+    /**
+     * Retrieve the fallback chain of a language.
+     *
+     * @param language The language id.
+     * @return The language followed by its fallbacks, most specific first, ending with the default language.
+     */
+    @NotNull
+    public List<String> getFallbackChain(@NotNull String language) {
+        Set<String> chain = new LinkedHashSet<>();
+        chain.add(language);
+
+        List<String> configured = this.fallbacks.get(language);
+        if (configured != null) {
+            chain.addAll(configured);
+        } else {
+            // Derive regional fallbacks, e.g. pt_BR -> pt
+            String id = language;
+            int separator;
+            while ((separator = Math.max(id.lastIndexOf('_'), id.lastIndexOf('-'))) > 0) {
+                id = id.substring(0, separator);
+                chain.add(id);
+            }
+        }
+
+        chain.add(defaultLanguage);
+        return List.copyOf(chain);
+    }
+
+    /**
+     * Retrieve a language merged with its fallback chain, e.g. to report which keys it inherits.
+     *
+     * @param language The language id.
+     * @return The resolved language, or null if the language is not loaded.
+     */
+    @Nullable
+    public ResolvedLanguage<T> getResolvedLanguage(@NotNull String language) {
+        return resolved.get(language);
+    }
+
+    /**
+     * Retrieve all loaded languages merged with their fallback chains.
+     *
+     * @return The resolved languages. Format: ID, Resolved language
+     */
+    @NotNull
+    public Map<String, ResolvedLanguage<T>> getResolvedLanguages() {
+        return resolved;
+    }
+
+    /**
+     * Called after languages have been loaded, before they are published, allowing implementations to precompile their messages.
+     * Also called after messages of a loaded language were changed directly, with the loader of the last load.
+     * Invoked while holding the languages write lock.
+     *
+     * @param loader The loader that supplied the languages.
+     * @param languages All currently loaded languages.
+     */
+    protected void onLanguagesLoaded(@NotNull LanguageLoader<T> loader, @NotNull Map<String, Language<T>> languages) {
+    }
+
+    /**
+     * Apply a change affecting how loaded messages are compiled or rendered (e.g. a new argument pattern) while holding the languages lock,
+     * so it can not interleave with a load publishing templates compiled against the previous setting.
+     * The render cache is invalidated afterward.
+     *
+     * @param change The change, e.g. swapping the setting and recompiling the templates.
+     */
+    protected void changeRendering(@NotNull Runnable change) {
+        synchronized (languagesLock) {
+            change.run();
+            invalidateRenderCache();
+        }
     }
 
     /**
      * Load the receiver languages.
+     * An {@link IncrementalReceiverDataLoader} is notified of all following changes,
+     * a {@link LazyReceiverDataLoader} is only attached and receivers are loaded through {@link #loadReceiver(Object)}.
      */
     @Override
     public int loadReceiverData(@NotNull ReceiverDataLoader<R> loader) {
-        this.data.putAll(loader.load());
+        ReceiverDataLoadEvent event = new ReceiverDataLoadEvent();
+        event.begin();
+        if (!(loader instanceof LazyReceiverDataLoader<R>)) {
+            Map<R, String> loaded = loader.load();
+            this.data.putAll(loaded);
+            event.entries = loaded.size();
+        }
+        if (loader instanceof IncrementalReceiverDataLoader<R> incremental) {
+            this.receiverDataLoader = incremental;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.loader = loader.getClass().getName();
+            event.commit();
+        }
         return this.data.size();
     }
 
+    @Override
+    @NotNull
+    public Optional<String> loadReceiver(@NotNull R receiver) {
+        notNull(receiver, "Receiver must not be null!");
+
+        if (this.receiverDataLoader instanceof LazyReceiverDataLoader<R> loader) {
+            String lang = loader.load(receiver);
+            if (lang != null) {
+                // Keep a language that was set while loading
+                this.data.putIfAbsent(receiver, lang);
+            }
+        }
+
+        String lang = this.data.get(receiver);
+        if (lang != null && this.lazyLoader != null) {
+            resolve(lang); // Load the language ahead of time
+        }
+        return Optional.ofNullable(lang);
+    }
+
+    /**
+     * Evict a receiver's language from memory, writing it back first if it changed since the last save.
+     */
+    @Override
+    public void unloadReceiver(@NotNull R receiver) {
+        notNull(receiver, "Receiver must not be null!");
+
+        if (this.receiverDataLoader instanceof LazyReceiverDataLoader<R> loader) {
+            synchronized (saveLock) {
+                String lang = this.data.remove(receiver);
+                if (this.dirty.remove(receiver)) {
+                    write(loader, receiver, lang);
+                }
+                loader.flush();
+            }
+        }
+    }
+
     /**
-     * Save the receiver languages.
+     * Save the receiver languages synchronously.
+     * An {@link IncrementalReceiverDataLoader} only receives the receivers changed since the last save,
+     * any other loader receives a copy of all receiver data.
      */
     @Override
     public void saveReceiverData(@NotNull ReceiverDataLoader<R> loader) {
-        loader.save(this.data);
+        ReceiverDataSaveEvent event = new ReceiverDataSaveEvent();
+        synchronized (saveLock) {
+            event.begin();
+            if (loader instanceof IncrementalReceiverDataLoader<R> incremental) {
+                for (R receiver : new ArrayList<>(this.dirty)) {
+                    // Read after clearing the flag, a concurrent change marks the receiver again
+                    if (this.dirty.remove(receiver)) {
+                        write(incremental, receiver, this.data.get(receiver));
+                        event.entries++;
+                    }
+                }
+                incremental.flush();
+                event.incremental = true;
+            } else {
+                this.dirty.clear();
+                Map<R, String> copy = new HashMap<>(this.data);
+                loader.save(copy);
+                event.entries = copy.size();
+            }
+            event.end();
+        }
+        if (event.shouldCommit()) {
+            event.loader = loader.getClass().getName();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void startAutoSave(@NotNull ReceiverDataLoader<R> loader, @NotNull Duration debounce) {
+        notNull(loader, "Loader must not be null!");
+        notNull(debounce, "Debounce must not be null!");
+
+        synchronized (saveLock) {
+            if (this.autoSaveExecutor == null) {
+                this.autoSaveExecutor = Executors.newSingleThreadScheduledExecutor(task -> {
+                    Thread thread = new Thread(task, "Localization-AutoSave");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            this.autoSaveDebounceMillis = debounce.toMillis();
+            this.autoSaveLoader = loader;
+        }
+        if (!this.dirty.isEmpty()) {
+            scheduleSave();
+        }
+    }
+
+    @Override
+    public void stopAutoSave() {
+        ReceiverDataLoader<R> loader;
+        synchronized (saveLock) {
+            loader = this.autoSaveLoader;
+            ScheduledExecutorService executor = this.autoSaveExecutor;
+            this.autoSaveLoader = null;
+            this.autoSaveExecutor = null;
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+        if (loader != null) {
+            saveReceiverData(loader);
+        }
     }
 
     /**
-     * Retrieve a <bold>mutable</bold> {@link Map} containing all language/message data.
+     * Release the resources held for the receiver data, e.g. when the plugin disables.
+     * Stops the {@link #startAutoSave(ReceiverDataLoader, Duration) auto save}, saves the changes pending for the attached
+     * {@link IncrementalReceiverDataLoader} and closes it if it is {@link AutoCloseable} (e.g. to stop its background threads).
+     */
+    public void close() {
+        stopAutoSave();
+        ExecutorService executor;
+        synchronized (writeExecutorLock) {
+            executor = this.writeExecutor;
+            this.writeExecutor = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        IncrementalReceiverDataLoader<R> loader = this.receiverDataLoader;
+        if (loader == null) {
+            return;
+        }
+        saveReceiverData(loader);
+        if (loader instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ex) {
+                //noinspection CallToPrintStackTrace
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Record a change, then either schedule a debounced save or a write to the attached loader.
+     * Both happen on a background thread, so changing a language never blocks on I/O.
+     */
+    private void changed(R receiver) {
+        this.dirty.add(receiver);
+        if (this.autoSaveLoader != null) {
+            scheduleSave();
+            return;
+        }
+
+        IncrementalReceiverDataLoader<R> loader = this.receiverDataLoader;
+        if (loader != null) {
+            scheduleWrite(loader);
+        }
+    }
+
+    /**
+     * Write the changed receivers to the attached loader on the write executor, as soon as possible.
+     * Changes made while a write is queued are written by it, so bursts are written together.
+     */
+    private void scheduleWrite(IncrementalReceiverDataLoader<R> loader) {
+        if (!this.writeScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        ExecutorService executor;
+        synchronized (writeExecutorLock) {
+            executor = this.writeExecutor;
+            if (executor == null) {
+                executor = Executors.newSingleThreadExecutor(task -> {
+                    Thread thread = new Thread(task, "Localization-Write");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                this.writeExecutor = executor;
+            }
+        }
+
+        try {
+            executor.execute(() -> {
+                this.writeScheduled.set(false);
+                try {
+                    saveReceiverData(loader);
+                } catch (RuntimeException ex) {
+                    //noinspection CallToPrintStackTrace
+                    ex.printStackTrace();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Closed concurrently, the final save picks the change up
+            this.writeScheduled.set(false);
+        }
+    }
+
+    private void scheduleSave() {
+        ScheduledExecutorService executor = this.autoSaveExecutor;
+        if (executor == null || !this.saveScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executor.schedule(() -> {
+                this.saveScheduled.set(false);
+                ReceiverDataLoader<R> loader = this.autoSaveLoader;
+                if (loader == null) {
+                    return;
+                }
+                try {
+                    saveReceiverData(loader);
+                } catch (RuntimeException ex) {
+                    //noinspection CallToPrintStackTrace
+                    ex.printStackTrace();
+                }
+            }, this.autoSaveDebounceMillis, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException ex) {
+            // Stopped concurrently, the final save picks the change up
+            this.saveScheduled.set(false);
+        }
+    }
+
+    private void write(IncrementalReceiverDataLoader<R> loader, R receiver, @Nullable String lang) {
+        if (lang != null) {
+            loader.save(receiver, lang);
+        } else {
+            loader.remove(receiver);
+        }
+    }
+
+    /**
+     * Retrieve an <bold>immutable</bold> snapshot of all language/message data.
+     * The snapshot is replaced whenever languages are loaded.
      *
      * @return The language/message data. Format: ID, Data
      */
@@ -183,6 +973,7 @@ public abstract class AbstractLocalization<T, A, R> implements Localization<T, A
 
     /**
      * Retrieve an <bold>immutable</bold> {@link Map} of all loaded language settings for each receiver.
+     * This is a live, weakly consistent view which may change while being iterated.
      *
      * @return The language map. Format: Receiver, Language ID
      * @see #setLanguage(Object, String)
@@ -216,6 +1007,7 @@ public abstract class AbstractLocalization<T, A, R> implements Localization<T, A
         notNull(receiver, "Receiver must not be null!");
         notNull(lang, "Lang must not be null!");
         this.data.put(receiver, lang);
+        changed(receiver);
     }
 
     /**
@@ -225,6 +1017,7 @@ public abstract class AbstractLocalization<T, A, R> implements Localization<T, A
     public void removeLanguage(@NotNull R recevier) {
         notNull(recevier, "Receiver must not be null!");
         this.data.remove(recevier);
+        changed(recevier);
     }
 
     /**
@@ -249,6 +1042,177 @@ public abstract class AbstractLocalization<T, A, R> implements Localization<T, A
         this.consoleLanguage = consoleLanguage;
     }
 
+    @Override
+    public void setMetrics(@Nullable LocalizationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    @Nullable
+    public LocalizationMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void setSlowRenderThreshold(@NotNull Duration threshold) {
+        notNull(threshold, "Threshold must not be null!");
+        this.slowRenderNanos = threshold.toNanos();
+    }
+
+    @Override
+    @NotNull
+    public Duration getSlowRenderThreshold() {
+        return Duration.ofNanos(slowRenderNanos);
+    }
+
+    /**
+     * Check whether render stages should be timed, i.e. metrics are attached or slow renders are being recorded.
+     * Implementations should skip reading the clock otherwise.
+     *
+     * @return True if stages should be timed.
+     */
+    protected boolean isTimingRenders() {
+        return this.metrics != null || SlowRenderEvent.enabled();
+    }
+
+    /**
+     * Record the duration of a render stage in the attached metrics and,
+     * if it exceeds the {@link #setSlowRenderThreshold(Duration) slow render threshold}, as a flight recorder event.
+     *
+     * @param receiver The receiver, or null for the console.
+     * @param key The message key.
+     * @param stage The stage.
+     * @param nanos The duration in nanoseconds.
+     */
+    protected void recordStage(@Nullable R receiver, @NotNull String key, @NotNull RenderStage stage, long nanos) {
+        LocalizationMetrics metrics = this.metrics;
+        if (metrics != null) {
+            metrics.recordStage(stage, nanos);
+        }
+        if (nanos >= this.slowRenderNanos) {
+            SlowRenderEvent event = new SlowRenderEvent();
+            if (event.isEnabled()) {
+                event.key = key;
+                event.language = receiver != null ? this.data.getOrDefault(receiver, defaultLanguage) : getConsoleLanguage();
+                event.stage = stage.name();
+                event.stageDuration = nanos;
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public void setRenderCache(@Nullable RenderCache<T> renderCache) {
+        this.renderCache = renderCache;
+    }
+
+    @Override
+    @Nullable
+    public RenderCache<T> getRenderCache() {
+        return renderCache;
+    }
+
+    /**
+     * Look up a message like {@link #getMessage(Object, String)}, keeping what is needed to {@link #renderCached(MessageLookup, String, Object[], Supplier) cache its render}.
+     * The receiver's language is read once, and the render cache generation is captured before the lookup.
+     *
+     * @param receiver The receiver.
+     * @param key The message key.
+     * @return The lookup, or null if the message is not present.
+     */
+    @Nullable
+    protected MessageLookup<T> lookup(@NotNull R receiver, @NotNull String key) {
+        notNull(receiver, "Receiver must not be null!");
+        notNull(key, "Key must not be null!");
+
+        RenderCache<T> cache = this.renderCache;
+        long generation = cache != null ? cache.getGeneration() : 0;
+        ResolvedLanguage<T> language = resolve(data.getOrDefault(receiver, defaultLanguage));
+        T message = language != null ? language.getMessage(key) : null;
+        record(language, key, message);
+        return message != null ? new MessageLookup<>(language, message, cache, generation) : null;
+    }
+
+    /**
+     * Render a looked up message through the {@link #setRenderCache(RenderCache) render cache}, if one was attached at the time of the lookup.
+     * Must only be used for messages that render the same for every receiver of a language.
+     *
+     * @param lookup The lookup of the message.
+     * @param key The message key.
+     * @param args The arguments, may be null.
+     * @param render Renders the message on a miss.
+     * @return The rendered message.
+     */
+    protected T renderCached(@NotNull MessageLookup<T> lookup, @NotNull String key, @Nullable A[] args, @NotNull Supplier<T> render) {
+        if (lookup.cache == null) {
+            return render.get();
+        }
+        return lookup.cache.computeIfAbsent(lookup.language, key, args, lookup.generation, render);
+    }
+
+    /**
+     * A message as looked up by {@link #lookup(Object, String)}.
+     *
+     * @param <T> Message type
+     */
+    protected static final class MessageLookup<T> {
+
+        private final ResolvedLanguage<T> language;
+        private final T message;
+        private final RenderCache<T> cache; // Null if disabled at the time of the lookup
+        private final long generation;
+
+        private MessageLookup(ResolvedLanguage<T> language, T message, RenderCache<T> cache, long generation) {
+            this.language = language;
+            this.message = message;
+            this.cache = cache;
+            this.generation = generation;
+        }
+
+        @NotNull
+        public ResolvedLanguage<T> getLanguage() {
+            return language;
+        }
+
+        @NotNull
+        public T getMessage() {
+            return message;
+        }
+
+    }
+
+    /**
+     * Drop all entries of the render cache, e.g. after a setting affecting rendering changed.
+     * Also makes {@link BoundMessage bound messages} render again on their next update.
+     */
+    protected void invalidateRenderCache() {
+        renderVersion.incrementAndGet();
+        RenderCache<T> cache = this.renderCache;
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    /**
+     * Retrieve the render version, incremented whenever languages are (re)loaded or changed, or rendering settings change.
+     */
+    long getRenderVersion() {
+        return renderVersion.get();
+    }
+
+    /**
+     * Record the total time spent rendering and sending a message in the attached metrics.
+     *
+     * @param key The message key.
+     * @param nanos The duration in nanoseconds.
+     */
+    protected void recordRender(@NotNull String key, long nanos) {
+        LocalizationMetrics metrics = this.metrics;
+        if (metrics != null) {
+            metrics.recordRender(key, nanos);
+        }
+    }
+
     /**
      * Not-null validator.
      *
@@ -0,0 +1,121 @@
+package com.github.thesilentpro.localization.api;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * A message bound to a receiver and a key, e.g. an action bar or scoreboard line updated every tick.
+ * Remembers the last arguments and rendered output, so {@link #update(Object[])} only renders when the arguments,
+ * the receiver's language, the loaded languages or rendering settings changed, and only delivers when the output actually differs.
+ * Messages are delivered through a sink, e.g. to the chat, an action bar, a scoreboard line or a boss bar title.
+ * Messages with external placeholders are rendered on every update, since their values may change at any time,
+ * but are still only sent when the output changed.
+ * <p>
+ * Created through {@link Localization#bind(Object, String, UnaryOperator, BiConsumer)}. Thread-safe, updates are serialized.
+ *
+ * @param <T> Message type
+ * @param <A> Argument type
+ * @param <R> Receiver type
+ * @author TheSilentPro (Silent)
+ */
+public final class BoundMessage<T, A, R> {
+
+    private final AbstractLocalization<T, A, R> localization;
+    private final R receiver;
+    private final String key;
+    private final UnaryOperator<T> function;
+    private final BiConsumer<R, T> sink;
+
+    // Guarded by this
+    private boolean rendered; // False until the first render or after invalidate()
+    private A[] lastArgs;
+    private T lastMessage;
+    private String lastLanguage;
+    private long lastVersion; // Render version of the localization at the last render
+    private boolean receiverDependent;
+
+    BoundMessage(@NotNull AbstractLocalization<T, A, R> localization, @NotNull R receiver, @NotNull String key, @Nullable UnaryOperator<T> function, @NotNull BiConsumer<R, T> sink) {
+        this.localization = localization;
+        this.receiver = receiver;
+        this.key = key;
+        this.function = function;
+        this.sink = sink;
+    }
+
+    /**
+     * Render the message with the given arguments and deliver it if it differs from the last one delivered.
+     *
+     * @param args The arguments, may be null. The array is copied.
+     * @return True if the message was delivered.
+     */
+    @SafeVarargs
+    public final synchronized boolean update(@Nullable A... args) {
+        long version = localization.getRenderVersion(); // Before rendering, so a change during the render is noticed next time
+        String language = localization.getLanguage(receiver).orElse(null);
+        boolean unchanged = rendered
+                && version == lastVersion
+                && Objects.equals(language, lastLanguage)
+                && Arrays.equals(args, lastArgs);
+        if (unchanged && !receiverDependent) {
+            return false;
+        }
+
+        if (!unchanged) {
+            this.receiverDependent = localization.isReceiverDependent(receiver, key);
+        }
+        Optional<T> message = localization.renderMessage(receiver, key, function, args);
+        this.rendered = true;
+        this.lastArgs = args != null ? args.clone() : null;
+        this.lastLanguage = language;
+        this.lastVersion = version;
+
+        if (message.isEmpty()) {
+            this.lastMessage = null; // Send again once the message is back
+            return false;
+        }
+        if (message.get().equals(lastMessage)) {
+            return false;
+        }
+        this.lastMessage = message.get();
+        sink.accept(receiver, lastMessage);
+        return true;
+    }
+
+    /**
+     * Forget the last output, so the next {@link #update(Object[])} sends the message even if nothing changed,
+     * e.g. after the receiver reconnected or the client discarded the message.
+     */
+    public synchronized void invalidate() {
+        this.rendered = false;
+        this.lastArgs = null;
+        this.lastMessage = null;
+        this.lastLanguage = null;
+    }
+
+    /**
+     * Retrieve the last message delivered.
+     *
+     * @return The message, or null if none was delivered since creation or the last {@link #invalidate()}.
+     */
+    @Nullable
+    public synchronized T getLastMessage() {
+        return lastMessage;
+    }
+
+    @NotNull
+    public R getReceiver() {
+        return receiver;
+    }
+
+    @NotNull
+    public String getKey() {
+        return key;
+    }
+
+}
@@ -1,22 +1,33 @@
 package com.github.thesilentpro.localization.api;
 
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Represents a language and its messages.
+ * <p>
+ * Reads are lock-free. Writes replace the message map copy-on-write, so they are safe to perform
+ * while other threads are reading, but are comparatively expensive.
  *
  * @author TheSilentPro (Silent)
  */
 public class Language<T> {
 
     private final String id;
-    private Map<String, T> messages;
+    private volatile Map<String, T> messages;
+    private volatile Map<String, T> view; // Cached unmodifiable view of messages
+    private volatile Consumer<Language<T>> changeListener; // Notified after messages changed, e.g. to merge fallbacks again
 
     public Language(String id, Map<String, T> messages) {
         this.id = id;
         this.messages = messages;
+        this.view = Collections.unmodifiableMap(messages);
     }
 
     public String getId() {
@@ -24,19 +35,55 @@ public class Language<T> {
     }
 
     public void setMessages(Map<String,T> messages) {
-        this.messages = messages;
+        synchronized (this) {
+            this.messages = messages;
+            this.view = Collections.unmodifiableMap(messages);
+        }
+        changed();
     }
 
     public void setMessage(String key, T message) {
-        this.messages.put(key, message);
+        synchronized (this) {
+            Map<String, T> copy = new HashMap<>(this.messages);
+            copy.put(key, message);
+            this.messages = copy;
+            this.view = Collections.unmodifiableMap(copy);
+        }
+        changed();
     }
 
     public Optional<T> getMessage(String key) {
         return Optional.ofNullable(this.messages.get(key));
     }
 
+    /**
+     * Look up a message by its handle.
+     * This is a map lookup, the array-indexed lookup is done by the {@link ResolvedLanguage} built from this language.
+     *
+     * @param key The handle.
+     * @return The message, or null if not present.
+     */
+    @Nullable
+    public T getMessage(@NotNull MessageKey key) {
+        return this.messages.get(key.getKey());
+    }
+
     public Map<String,T> getMessages() {
-        return Collections.unmodifiableMap(messages);
+        return view;
+    }
+
+    /**
+     * Set the listener notified after messages of this language changed.
+     */
+    void onChange(Consumer<Language<T>> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    private void changed() {
+        Consumer<Language<T>> listener = this.changeListener;
+        if (listener != null) {
+            listener.accept(this);
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -3,9 +3,12 @@ package com.github.thesilentpro.localization.api;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import com.github.thesilentpro.localization.api.loader.LanguageLoader;
+import com.github.thesilentpro.localization.api.loader.LazyLanguageLoader;
 import com.github.thesilentpro.localization.api.loader.ReceiverDataLoader;
+import com.github.thesilentpro.localization.api.metrics.LocalizationMetrics;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiConsumer;
@@ -13,6 +16,10 @@ import java.util.function.UnaryOperator;
 
 /**
  * Represents a localization instance.
+ * <p>
+ * <b>Thread-safety:</b> unless stated otherwise, every method may be called from any thread,
+ * e.g. async chat events, async pre-login or database callbacks, while other threads load languages or change receiver languages.
+ * Lookups never block and always observe a fully loaded set of languages.
  *
  * @param <T> Message return type
  * @param <A> Argument type
@@ -23,6 +30,8 @@ public interface Localization<T, A, R> {
 
     /**
      * Retrieve a message by the receiver's language and the key.
+     * <p>
+     * Thread-safe and lock-free.
      *
      * @param receiver The receiver.
      * @param key The message key.
@@ -31,8 +40,38 @@ public interface Localization<T, A, R> {
     @NotNull
     Optional<T> getMessage(@NotNull R receiver, @NotNull String key);
 
+    /**
+     * Retrieve a message by the receiver's language and a key handle.
+     * <p>
+     * Thread-safe and lock-free. The key is resolved by a plain array index instead of hashing the key string.
+     *
+     * @param receiver The receiver.
+     * @param key The message key handle, obtained through {@link #key(String)}.
+     * @return If present, the message, otherwise an empty {@link Optional}.
+     */
+    @NotNull
+    Optional<T> getMessage(@NotNull R receiver, @NotNull MessageKey key);
+
+    /**
+     * Resolve a message key into an interned handle.
+     * The handle stays valid across reloads and can be held on to.
+     * <p>
+     * Every distinct key is registered for the lifetime of this instance, including keys that are not loaded,
+     * so this must only be called with constant keys (e.g. stored in {@code static final} fields), never with keys built at runtime.
+     * Look such keys up through {@link #getMessage(Object, String)} instead.
+     * <p>
+     * Thread-safe.
+     *
+     * @param key The message key.
+     * @return The handle.
+     */
+    @NotNull
+    MessageKey key(@NotNull String key);
+
     /**
      * Sends a translated message to a receiver.
+     * <p>
+     * Thread-safe as far as the platform allows delivering messages from the calling thread.
      *
      * @param receiver The receiver.
      * @param message The message to be sent.
@@ -41,6 +80,8 @@ public interface Localization<T, A, R> {
 
     /**
      * Sends a message to a receiver with an optional message transformation function and arguments.
+     * <p>
+     * Rendering is thread-safe, delivery follows {@link #sendTranslatedMessage(Object, Object)}.
      *
      * @param receiver The receiver.
      * @param key The message key.
@@ -49,6 +90,62 @@ public interface Localization<T, A, R> {
      */
     void sendMessage(@NotNull R receiver, @NotNull String key, @Nullable UnaryOperator<T> function, @Nullable A... args);
 
+    /**
+     * Renders a message for a receiver the same way {@link #sendMessage(Object, String, UnaryOperator, Object[])} does, without sending it.
+     * <p>
+     * Thread-safe.
+     *
+     * @param receiver The receiver.
+     * @param key The message key.
+     * @param function Optional transformation function for the message.
+     * @param args Optional arguments to be used in the message.
+     * @return If present, the rendered message, otherwise an empty {@link Optional}.
+     */
+    @NotNull
+    Optional<T> renderMessage(@NotNull R receiver, @NotNull String key, @Nullable UnaryOperator<T> function, @Nullable A... args);
+
+    /**
+     * Bind a receiver and a key into a handle which only re-renders and re-sends the message when something changed,
+     * e.g. for action bars, scoreboards or boss bars updated every tick.
+     * <p>
+     * Thread-safe.
+     *
+     * @param receiver The receiver.
+     * @param key The message key.
+     * @param function Optional transformation function, applied on every render.
+     * @param sink Delivers a changed message to the receiver, e.g. by setting the action bar or a boss bar title.
+     * @return The handle.
+     */
+    @NotNull
+    BoundMessage<T, A, R> bind(@NotNull R receiver, @NotNull String key, @Nullable UnaryOperator<T> function, @NotNull BiConsumer<R, T> sink);
+
+    /**
+     * Bind a receiver and a key into a handle delivering through {@link #sendTranslatedMessage(Object, Object)},
+     * see {@link #bind(Object, String, UnaryOperator, BiConsumer)}.
+     *
+     * @param receiver The receiver.
+     * @param key The message key.
+     * @param function Optional transformation function, applied on every render.
+     * @return The handle.
+     */
+    @NotNull
+    default BoundMessage<T, A, R> bind(@NotNull R receiver, @NotNull String key, @Nullable UnaryOperator<T> function) {
+        return bind(receiver, key, function, this::sendTranslatedMessage);
+    }
+
+    /**
+     * Bind a receiver and a key into a handle delivering through {@link #sendTranslatedMessage(Object, Object)},
+     * see {@link #bind(Object, String, UnaryOperator, BiConsumer)}.
+     *
+     * @param receiver The receiver.
+     * @param key The message key.
+     * @return The handle.
+     */
+    @NotNull
+    default BoundMessage<T, A, R> bind(@NotNull R receiver, @NotNull String key) {
+        return bind(receiver, key, null);
+    }
+
     /**
      * Sends a message to a receiver with an optional message transformation function.
      *
@@ -83,6 +180,8 @@ public interface Localization<T, A, R> {
 
     /**
      * Sends a message to multiple receivers.
+     * <p>
+     * Same guarantees as {@link #sendMessage(Object, String)}.
      *
      * @param key The message key.
      * @param receivers Receivers to send the message to.
@@ -93,6 +192,8 @@ public interface Localization<T, A, R> {
 
     /**
      * Sends a translated message to the console.
+     * <p>
+     * Thread-safe as far as the console log function is.
      *
      * @param message The message to be sent to the console.
      */
@@ -100,6 +201,8 @@ public interface Localization<T, A, R> {
 
     /**
      * Sends a message to the console with an optional message transformation function and arguments.
+     * <p>
+     * Rendering is thread-safe, logging follows {@link #sendTranslatedConsoleMessage(ConsoleLogLevel, Object)}.
      *
      * @param key      The message key.
      * @param function Optional transformation function for the message.
@@ -151,6 +254,8 @@ public interface Localization<T, A, R> {
 
     /**
      * Retrieves a message for the console.
+     * <p>
+     * Thread-safe and lock-free.
      *
      * @param key The message key.
      * @return If present, the message for the console, otherwise an empty {@link Optional}.
@@ -160,6 +265,8 @@ public interface Localization<T, A, R> {
 
     /**
      * Sets the function to log messages to the console.
+     * <p>
+     * Thread-safe, the new function is visible to all threads immediately. The function itself must be thread-safe.
      *
      * @param consoleLogFunction The function to log messages to the console.
      */
@@ -169,14 +276,48 @@ public interface Localization<T, A, R> {
 
     /**
      * Load all languages.
+     * <p>
+     * Thread-safe. Parsing happens on the calling thread without holding any lock,
+     * the result is merged and published atomically. Concurrent calls are serialized.
      *
      * @param loader The loader responsible for loading language data.
      * @return Number of files loaded.
      */
     int loadLanguages(@NotNull LanguageLoader<T> loader) throws IOException;
 
+    /**
+     * Reload all languages, replacing the currently loaded ones.
+     * <p>
+     * Thread-safe. Parsing happens on the calling thread without holding any lock,
+     * the new set of languages is then published with a single atomic swap, so readers never observe a partially reloaded state.
+     *
+     * @param loader The loader responsible for loading language data.
+     * @return Number of languages loaded.
+     */
+    int reloadLanguages(@NotNull LanguageLoader<T> loader) throws IOException;
+
+    /**
+     * Index the available languages and only load a language once it is first needed.
+     * <p>
+     * The default language is loaded right away and always stays loaded. Other languages are evicted
+     * once more than {@code maxLanguages} are loaded (least recently used first) or when unused for longer than {@code idle},
+     * and loaded again when needed. Fallbacks of a loaded language are never evicted before it.
+     * Reloading through {@link #reloadLanguages(LanguageLoader)} with the same loader only reloads the currently loaded languages.
+     * <p>
+     * Thread-safe. A lookup of a language which is not loaded parses it on the calling thread,
+     * {@link #loadReceiver(Object)} does so ahead of time for the receiver's language.
+     *
+     * @param loader The loader responsible for loading language data.
+     * @param maxLanguages Maximum number of languages kept loaded.
+     * @param idle Time after which an unused language is evicted, or null to only evict by size.
+     * @return Number of languages available.
+     */
+    int loadLanguagesLazily(@NotNull LazyLanguageLoader<T> loader, int maxLanguages, @Nullable Duration idle) throws IOException;
+
     /**
      * Load the receiver languages.
+     * <p>
+     * Thread-safe, entries become visible individually.
      *
      * @param loader The loader responsible for loading receiver data.
      * @return Number of receivers loaded.
@@ -185,13 +326,61 @@ public interface Localization<T, A, R> {
 
     /**
      * Save the receiver languages.
+     * <p>
+     * Thread-safe and serialized with background saves, the loader receives a copy of the receiver data taken at the time of the call.
      *
      * @param loader The loader responsible for saving receiver data.
      */
     void saveReceiverData(@NotNull ReceiverDataLoader<R> loader);
 
+    /**
+     * Save changed receivers in the background.
+     * <p>
+     * Every change to a receiver's language marks it as dirty and schedules a save on a background thread
+     * once the debounce elapsed, so bursts of changes are written together.
+     * An {@link com.github.thesilentpro.localization.api.loader.IncrementalReceiverDataLoader} only receives the changed receivers,
+     * any other loader receives a consistent copy of all receiver data.
+     * <p>
+     * Thread-safe.
+     *
+     * @param loader The loader responsible for saving receiver data.
+     * @param debounce Time to wait after a change before saving.
+     */
+    void startAutoSave(@NotNull ReceiverDataLoader<R> loader, @NotNull Duration debounce);
+
+    /**
+     * Stop saving in the background and save all pending changes synchronously. Should be called on shutdown.
+     * <p>
+     * Thread-safe, blocks until the save completed.
+     */
+    void stopAutoSave();
+
+    /**
+     * Load the language of a single receiver from the {@link com.github.thesilentpro.localization.api.loader.LazyReceiverDataLoader}
+     * passed to {@link #loadReceiverData(ReceiverDataLoader)}.
+     * <p>
+     * Thread-safe, may block on I/O and should not be called from the main thread.
+     *
+     * @param receiver The receiver.
+     * @return The language, if one is stored.
+     */
+    @NotNull
+    Optional<String> loadReceiver(@NotNull R receiver);
+
+    /**
+     * Evict a receiver's language from memory, writing it back to the receiver data loader first.
+     * Without a {@link com.github.thesilentpro.localization.api.loader.LazyReceiverDataLoader}, this does nothing.
+     * <p>
+     * Thread-safe, may block on I/O.
+     *
+     * @param receiver The receiver.
+     */
+    void unloadReceiver(@NotNull R receiver);
+
     /**
      * Retrieve a {@link Map} containing all language/message data.
+     * <p>
+     * Thread-safe, returns an immutable snapshot which is not affected by later loads.
      *
      * @return The language/message data. Format: Language, Messages.
      */
@@ -200,6 +389,8 @@ public interface Localization<T, A, R> {
 
     /**
      * Retrieve the default language.
+     * <p>
+     * Thread-safe, the default language never changes.
      *
      * @return The default language.
      */
@@ -208,6 +399,8 @@ public interface Localization<T, A, R> {
 
     /**
      * Retrieve an unmodifiable {@link Map} of all loaded language settings for each receiver.
+     * <p>
+     * Thread-safe, returns a weakly consistent live view.
      *
      * @return The language map. Format: Receiver, Language.
      */
@@ -216,6 +409,8 @@ public interface Localization<T, A, R> {
 
     /**
      * Retrieve the language for a specific receiver.
+     * <p>
+     * Thread-safe and lock-free.
      *
      * @param receiver The receiver.
      * @return Optional language.
@@ -225,6 +420,8 @@ public interface Localization<T, A, R> {
 
     /**
      * Set the language for a specific receiver.
+     * <p>
+     * Thread-safe, visible to all threads immediately.
      *
      * @param receiver The receiver.
      * @param lang The language.
@@ -233,6 +430,8 @@ public interface Localization<T, A, R> {
 
     /**
      * Remove a receiver's language entry.
+     * <p>
+     * Thread-safe, visible to all threads immediately.
      *
      * @param receiver The receiver.
      */
@@ -240,6 +439,8 @@ public interface Localization<T, A, R> {
 
     /**
      * Retrieve the language for the console.
+     * <p>
+     * Thread-safe.
      *
      * @return The console's language.
      */
@@ -248,9 +449,53 @@ public interface Localization<T, A, R> {
 
     /**
      * Set the language for the console.
+     * <p>
+     * Thread-safe, visible to all threads immediately.
      *
      * @param consoleLanguage The console's language.
      */
     void setConsoleLanguage(@NotNull String consoleLanguage);
 
+    /**
+     * Attach metrics, collecting lookup outcomes, render stage latencies and the most expensive keys.
+     * <p>
+     * Thread-safe. Metrics are disabled by default, costing a single field read on the hot paths.
+     *
+     * @param metrics The metrics, or null to disable them.
+     */
+    void setMetrics(@Nullable LocalizationMetrics metrics);
+
+    /**
+     * Retrieve the attached metrics.
+     *
+     * @return The metrics, or null if disabled.
+     */
+    @Nullable
+    LocalizationMetrics getMetrics();
+
+    /**
+     * Set the duration above which a render stage is reported as a {@code com.github.thesilentpro.localization.SlowRender}
+     * flight recorder event. Only takes effect while the event is enabled in a recording. Default: 5ms
+     * <p>
+     * Thread-safe.
+     *
+     * @param threshold The threshold.
+     */
+    void setSlowRenderThreshold(@NotNull Duration threshold);
+
+    @NotNull
+    Duration getSlowRenderThreshold();
+
+    /**
+     * Attach a cache for rendered messages, used for messages without external placeholders and without a transformation function.
+     * <p>
+     * Thread-safe. Disabled by default.
+     *
+     * @param renderCache The cache, or null to disable caching.
+     */
+    void setRenderCache(@Nullable RenderCache<T> renderCache);
+
+    @Nullable
+    RenderCache<T> getRenderCache();
+
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.github.thesilentpro.localization.api;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An interned handle to a message key, resolved once through {@link Localization#key(String)}.
+ * The handle is backed by a dense id, so lookups are a plain array index into the table of each {@link ResolvedLanguage},
+ * which holds a language merged with its fallbacks.
+ * Hold on to handles in hot paths (e.g. scoreboards or GUIs) instead of passing the key string every time.
+ * <p>
+ * Keys are registered for the lifetime of the registry, so handles should only be created for constant keys,
+ * never for keys built from user input or other unbounded values.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class MessageKey {
+
+    private final MessageKeys owner;
+    private final String key;
+    private final int id;
+
+    MessageKey(MessageKeys owner, String key, int id) {
+        this.owner = owner;
+        this.key = key;
+        this.id = id;
+    }
+
+    /**
+     * Retrieve the key string.
+     *
+     * @return The key.
+     */
+    @NotNull
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Retrieve the dense id of this key, unique within its {@link MessageKeys registry}.
+     *
+     * @return The id.
+     */
+    public int getId() {
+        return id;
+    }
+
+    MessageKeys getOwner() {
+        return owner;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.github.thesilentpro.localization.api;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry assigning dense ids to message keys.
+ * Every {@link ResolvedLanguage} indexed against the same registry shares these ids.
+ * <p>
+ * Ids are never released, so a handle stays valid across reloads, even for a key that is only added by a later reload.
+ * The registry therefore grows with every distinct key passed to {@link #of(String)}, which must only be called with a bounded set of keys.
+ *
+ * @author TheSilentPro (Silent)
+ * @see MessageKey
+ */
+public final class MessageKeys {
+
+    private final Map<String, MessageKey> keys = new ConcurrentHashMap<>(); // Key, Handle
+    private int next; // Guarded by this
+
+    /**
+     * Retrieve the handle for a key, assigning a new id if the key is not known yet.
+     * The id is kept for the lifetime of the registry.
+     *
+     * @param key The key.
+     * @return The handle.
+     */
+    @NotNull
+    public MessageKey of(@NotNull String key) {
+        MessageKey handle = keys.get(key);
+        if (handle != null) {
+            return handle;
+        }
+
+        synchronized (this) {
+            return keys.computeIfAbsent(key, k -> new MessageKey(this, k, next++));
+        }
+    }
+
+    /**
+     * Retrieve the handle for a key, without assigning a new id.
+     *
+     * @param key The key.
+     * @return The handle, or null if the key is not known.
+     */
+    @Nullable
+    public MessageKey get(@NotNull String key) {
+        return keys.get(key);
+    }
+
+    /**
+     * Retrieve the number of ids assigned so far.
+     *
+     * @return The number of ids, every id is lower than this value.
+     */
+    public synchronized int size() {
+        return next;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.github.thesilentpro.localization.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for {@link AbstractLocalization#loadReceiverData(com.github.thesilentpro.localization.api.loader.ReceiverDataLoader)}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@Name("com.github.thesilentpro.localization.ReceiverDataLoad")
+@Label("Receiver Data Load")
+@Category("Localization")
+@Description("Receiver languages loaded from a receiver data loader")
+final class ReceiverDataLoadEvent extends Event {
+
+    @Label("Loader")
+    String loader;
+
+    @Label("Entries")
+    @Description("Number of receiver languages loaded")
+    int entries;
+
+}
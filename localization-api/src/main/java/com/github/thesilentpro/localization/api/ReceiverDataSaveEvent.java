@@ -0,0 +1,32 @@
+package com.github.thesilentpro.localization.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for {@link AbstractLocalization#saveReceiverData(com.github.thesilentpro.localization.api.loader.ReceiverDataLoader)},
+ * including saves issued by auto-save.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@Name("com.github.thesilentpro.localization.ReceiverDataSave")
+@Label("Receiver Data Save")
+@Category("Localization")
+@Description("Receiver languages saved through a receiver data loader")
+final class ReceiverDataSaveEvent extends Event {
+
+    @Label("Loader")
+    String loader;
+
+    @Label("Entries")
+    @Description("Number of receiver languages written")
+    int entries;
+
+    @Label("Incremental")
+    @Description("Whether only changed receivers were written")
+    boolean incremental;
+
+}
@@ -0,0 +1,258 @@
+package com.github.thesilentpro.localization.api;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A size-bounded cache of rendered messages, keyed on language, message key and argument values.
+ * <p>
+ * Attach it through {@link Localization#setRenderCache(RenderCache)}. Implementations only consult it for messages
+ * that render the same for every receiver of a language, i.e. without external placeholders and without a transformation function.
+ * <p>
+ * Entries are split over independently locked LRU segments. A rendered message is only admitted on the second miss
+ * within a window (a single-hash "doorkeeper" bit set, cleared periodically), so one-off argument combinations do not evict the ones that repeat.
+ * <p>
+ * All entries are dropped whenever languages are (re)loaded or changed. Receiver language changes need no invalidation,
+ * since entries are keyed on the language rather than the receiver.
+ *
+ * @param <T> Message type
+ * @author TheSilentPro (Silent)
+ */
+public final class RenderCache<T> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment<T>[] segments;
+    private final int maximumSize;
+
+    // Admission
+    private final AtomicLongArray doorkeeper;
+    private final int doorkeeperMask; // Bits - 1
+    private final AtomicInteger doorkeeperAdditions = new AtomicInteger();
+    private final int doorkeeperResetInterval;
+
+    private final AtomicLong generation = new AtomicLong(); // Incremented on invalidation, renders started before are not stored
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSize The maximum number of rendered messages kept.
+     */
+    public RenderCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive!");
+        }
+        this.maximumSize = maximumSize;
+
+        int count = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maximumSize));
+        this.segments = newSegments(count);
+        for (int i = 0; i < count; i++) {
+            // Spread the remainder, so the capacities add up to the maximum size exactly
+            segments[i] = new Segment<>(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+        }
+
+        // Roughly 8 bits per entry, at least one word
+        int bits = Integer.highestOneBit(Math.max(64, Math.min(maximumSize, 1 << 26) * 8));
+        this.doorkeeper = new AtomicLongArray(bits >>> 6);
+        this.doorkeeperMask = bits - 1;
+        this.doorkeeperResetInterval = Math.max(64, Math.min(maximumSize, 1 << 26) * 8);
+    }
+
+    @SuppressWarnings("unchecked") // Generic arrays can not be created, the array never leaves this cache
+    private static <T> Segment<T>[] newSegments(int count) {
+        return (Segment<T>[]) new Segment<?>[count];
+    }
+
+    /**
+     * Retrieve a rendered message, rendering it on a miss.
+     * The language and generation must both be captured before the message passed to the renderer was looked up,
+     * so a render of a message that was changed in the meantime is never stored.
+     *
+     * @param language The resolved language the message was looked up in.
+     * @param key The message key.
+     * @param args The arguments, may be null. The array is copied before it is stored.
+     * @param generation The {@link #getGeneration() generation} at the time of the lookup.
+     * @param render Renders the message.
+     * @return The cached or newly rendered message.
+     */
+    public T computeIfAbsent(@NotNull ResolvedLanguage<T> language, @NotNull String key, @Nullable Object[] args, long generation, @NotNull Supplier<T> render) {
+        String id = language.getLanguage().getId();
+        Key lookup = new Key(id, key, args);
+        Segment<T> segment = segment(lookup.hash);
+
+        T value;
+        synchronized (segment) {
+            value = segment.get(lookup);
+        }
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        value = render.get();
+        if (value != null && generation == this.generation.get() && admit(lookup.hash)) {
+            Key stored = new Key(id, key, args != null ? args.clone() : null);
+            synchronized (segment) {
+                if (generation == this.generation.get()) {
+                    segment.putIfAbsent(stored, value);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Retrieve the current generation, which is incremented by every {@link #invalidate()}.
+     *
+     * @return The generation.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Drop all entries. Renders of messages looked up before are not stored.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        for (Segment<T> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Check the doorkeeper, marking the hash as seen.
+     *
+     * @return True if the hash was seen before in the current window.
+     */
+    private boolean admit(int hash) {
+        if (doorkeeperAdditions.incrementAndGet() >= doorkeeperResetInterval) {
+            doorkeeperAdditions.set(0);
+            for (int i = 0; i < doorkeeper.length(); i++) {
+                doorkeeper.set(i, 0);
+            }
+        }
+
+        int bit = (hash * 0x9E3779B9) & doorkeeperMask;
+        long mask = 1L << bit;
+        int word = bit >>> 6;
+        long previous = doorkeeper.getAndAccumulate(word, mask, (current, add) -> current | add);
+        return (previous & mask) != 0;
+    }
+
+    private Segment<T> segment(int hash) {
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<T> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Retrieve the ratio of lookups served from the cache.
+     *
+     * @return The hit rate between 0 and 1, or 0 if there were no lookups.
+     */
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    private static final class Key {
+
+        private final String language;
+        private final String key;
+        private final Object[] args;
+        private final int hash;
+
+        private Key(String language, String key, Object[] args) {
+            this.language = language;
+            this.key = key;
+            this.args = args;
+            this.hash = 31 * (31 * language.hashCode() + key.hashCode()) + Arrays.hashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key other
+                    && hash == other.hash
+                    && key.equals(other.key)
+                    && language.equals(other.language)
+                    && Arrays.equals(args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return language + ":" + key + (args != null ? Arrays.toString(args) : "");
+        }
+
+    }
+
+    /**
+     * An access ordered map evicting its least recently used entry. Guarded by its own monitor.
+     */
+    private static final class Segment<T> extends LinkedHashMap<Key, T> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(Math.min(capacity, 1024) * 4 / 3 + 1, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, T> eldest) {
+            return size() > capacity;
+        }
+
+    }
+
+}
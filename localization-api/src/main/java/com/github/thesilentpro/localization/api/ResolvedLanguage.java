@@ -0,0 +1,149 @@
+package com.github.thesilentpro.localization.api;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link Language} merged with its whole fallback chain (e.g. {@code pt_BR -> pt -> en}).
+ * Built once whenever languages are loaded, so a lookup is a single probe regardless of the number of fallback levels.
+ *
+ * @param <T> Message type
+ * @author TheSilentPro (Silent)
+ */
+public final class ResolvedLanguage<T> {
+
+    private final Language<T> language;
+    private final List<String> chain;
+    private final Map<String, T> messages; // Key, Message (merged)
+    private final Set<String> inherited; // Keys taken from a fallback language
+    private final MessageKeys keys;
+    private final Object[] table; // Indexed by MessageKey id
+
+    private ResolvedLanguage(Language<T> language, List<String> chain, Map<String, T> messages, Set<String> inherited, MessageKeys keys, Object[] table) {
+        this.language = language;
+        this.chain = chain;
+        this.messages = messages;
+        this.inherited = inherited;
+        this.keys = keys;
+        this.table = table;
+    }
+
+    /**
+     * Merge a language with its fallbacks.
+     *
+     * @param chain The language followed by its fallbacks, most specific first.
+     * @param keys The registry used for {@link MessageKey} lookups.
+     * @return The resolved language.
+     */
+    static <T> ResolvedLanguage<T> resolve(List<Language<T>> chain, MessageKeys keys) {
+        Language<T> language = chain.getFirst();
+        Map<String, T> own = language.getMessages();
+
+        Map<String, T> merged = new HashMap<>();
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            merged.putAll(chain.get(i).getMessages());
+        }
+
+        Set<String> inherited = new HashSet<>();
+        for (String key : merged.keySet()) {
+            if (!own.containsKey(key)) {
+                inherited.add(key);
+            }
+        }
+
+        int[] ids = new int[merged.size()];
+        Object[] values = new Object[merged.size()];
+        int i = 0;
+        int length = 0;
+        for (Map.Entry<String, T> entry : merged.entrySet()) {
+            ids[i] = keys.of(entry.getKey()).getId();
+            values[i] = entry.getValue();
+            length = Math.max(length, ids[i++] + 1);
+        }
+        Object[] table = new Object[length];
+        for (i = 0; i < ids.length; i++) {
+            table[ids[i]] = values[i];
+        }
+
+        return new ResolvedLanguage<>(language, chain.stream().map(Language::getId).toList(), Collections.unmodifiableMap(merged), Collections.unmodifiableSet(inherited), keys, table);
+    }
+
+    /**
+     * Look up a message.
+     *
+     * @param key The message key.
+     * @return The message, or null if neither the language nor any of its fallbacks contain it.
+     */
+    @Nullable
+    public T getMessage(@NotNull String key) {
+        return messages.get(key);
+    }
+
+    /**
+     * Look up a message by its handle.
+     *
+     * @param key The handle.
+     * @return The message, or null if neither the language nor any of its fallbacks contain it.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T getMessage(@NotNull MessageKey key) {
+        if (key.getOwner() == keys) {
+            int id = key.getId();
+            return id < table.length ? (T) table[id] : null;
+        }
+        return messages.get(key.getKey());
+    }
+
+    /**
+     * Retrieve the language this was resolved for.
+     *
+     * @return The language.
+     */
+    @NotNull
+    public Language<T> getLanguage() {
+        return language;
+    }
+
+    /**
+     * Retrieve the ids of the language and all fallbacks that were merged, most specific first.
+     *
+     * @return The chain.
+     */
+    @NotNull
+    public List<String> getChain() {
+        return chain;
+    }
+
+    /**
+     * Retrieve all keys that are missing from the language itself and were inherited from a fallback.
+     *
+     * @return The inherited keys.
+     */
+    @NotNull
+    public Set<String> getInheritedKeys() {
+        return inherited;
+    }
+
+    public boolean isInherited(@NotNull String key) {
+        return inherited.contains(key);
+    }
+
+    /**
+     * Retrieve all messages, including inherited ones.
+     *
+     * @return The merged messages.
+     */
+    @NotNull
+    public Map<String, T> getMessages() {
+        return messages;
+    }
+
+}
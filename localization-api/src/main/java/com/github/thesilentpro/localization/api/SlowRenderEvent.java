@@ -0,0 +1,42 @@
+package com.github.thesilentpro.localization.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for a render stage that took longer than the {@link Localization#setSlowRenderThreshold(java.time.Duration) slow render threshold}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@Name("com.github.thesilentpro.localization.SlowRender")
+@Label("Slow Render")
+@Category("Localization")
+@Description("A message render stage exceeding the configured threshold")
+final class SlowRenderEvent extends Event {
+
+    @Label("Key")
+    String key;
+
+    @Label("Language")
+    String language;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Stage Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long stageDuration;
+
+    /**
+     * Check whether the event is enabled in any running recording.
+     * The instance does not escape, so the JIT can drop the allocation.
+     */
+    static boolean enabled() {
+        return new SlowRenderEvent().isEnabled();
+    }
+
+}
@@ -0,0 +1,410 @@
+package com.github.thesilentpro.localization.api;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A compact, thread-safe receiver store for {@link UUID} receivers.
+ * <p>
+ * Entries are kept in an open-addressing table over the two {@code long} halves of the UUID,
+ * and the language is stored as a small ordinal into a table of distinct language ids.
+ * This avoids a boxed UUID, a map node and a String reference per receiver.
+ * <p>
+ * Up to 65535 distinct languages can be assigned at the same time. Ordinals of languages no receiver uses anymore are reclaimed
+ * once the ordinals run out, so only assigning more languages than that at once makes a write throw an {@link IllegalStateException}.
+ * <p>
+ * Reads are lock-free (optimistic), writes are exclusive, so the conditional operations of {@link ConcurrentMap} are atomic.
+ * Iteration happens over a snapshot taken at the time {@link #entrySet()} is called. Null keys and values are not permitted.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class UUIDReceiverMap extends AbstractMap<UUID, String> implements ConcurrentMap<UUID, String> {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_LANGUAGES = Character.MAX_VALUE; // Ordinal 0 marks a free slot
+
+    private final StampedLock lock = new StampedLock();
+    private volatile Table table;
+    private volatile String[] languages = new String[1]; // Ordinal, Lang (0 marks a free slot)
+    private final Map<String, Character> ordinals = new HashMap<>(); // Lang, Ordinal (guarded by the write lock)
+
+    public UUIDReceiverMap(int expectedSize) {
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    public UUIDReceiverMap() {
+        this(MIN_CAPACITY);
+    }
+
+    @Override
+    public String get(Object key) {
+        if (!(key instanceof UUID uuid)) {
+            return null;
+        }
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            String value = read(msb, lsb);
+            if (lock.validate(stamp)) {
+                return value;
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return read(msb, lsb);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public String put(@NotNull UUID key, @NotNull String value) {
+        return put(key, value, false);
+    }
+
+    @Override
+    public String putIfAbsent(@NotNull UUID key, @NotNull String value) {
+        return put(key, value, true);
+    }
+
+    private String put(UUID key, String value, boolean onlyIfAbsent) {
+        if (key == null || value == null) {
+            throw new NullPointerException("Key and value must not be null!");
+        }
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+
+        long stamp = lock.writeLock();
+        try {
+            Table table = this.table;
+            int slot = table.find(msb, lsb);
+            if (slot >= 0) {
+                String previous = languages[table.ordinals[slot]];
+                if (!onlyIfAbsent) {
+                    table.ordinals[slot] = ordinal(value);
+                }
+                return previous;
+            }
+
+            char ordinal = ordinal(value);
+            if ((table.size + 1) * 4L > table.ordinals.length * 3L) {
+                table = resize(table.ordinals.length * 2);
+            }
+            table.insert(msb, lsb, ordinal);
+            return null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public String remove(Object key) {
+        return remove(key, null, false);
+    }
+
+    @Override
+    public boolean remove(@NotNull Object key, Object value) {
+        return value != null && remove(key, value, true) != null;
+    }
+
+    /**
+     * Remove an entry, if matching only when it maps to the expected value.
+     *
+     * @return The removed value, or null if nothing was removed.
+     */
+    private String remove(Object key, Object expected, boolean matching) {
+        if (!(key instanceof UUID uuid)) {
+            return null;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            Table table = this.table;
+            int slot = table.find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            if (slot < 0) {
+                return null;
+            }
+            String previous = languages[table.ordinals[slot]];
+            if (matching && !previous.equals(expected)) {
+                return null;
+            }
+            table.delete(slot);
+            return previous;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean replace(@NotNull UUID key, @NotNull String oldValue, @NotNull String newValue) {
+        Objects.requireNonNull(oldValue, "Value must not be null!");
+        return replace(key, newValue, oldValue, true) != null;
+    }
+
+    @Override
+    public String replace(@NotNull UUID key, @NotNull String value) {
+        return replace(key, value, null, false);
+    }
+
+    /**
+     * Replace the value of an existing entry, if matching only when it maps to the expected value.
+     *
+     * @return The replaced value, or null if nothing was replaced.
+     */
+    private String replace(UUID key, String value, String expected, boolean matching) {
+        if (key == null || value == null) {
+            throw new NullPointerException("Key and value must not be null!");
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            Table table = this.table;
+            int slot = table.find(key.getMostSignificantBits(), key.getLeastSignificantBits());
+            if (slot < 0) {
+                return null;
+            }
+            String previous = languages[table.ordinals[slot]];
+            if (matching && !previous.equals(expected)) {
+                return null;
+            }
+            table.ordinals[slot] = ordinal(value);
+            return previous;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void putAll(@NotNull Map<? extends UUID, ? extends String> map) {
+        long stamp = lock.writeLock();
+        try {
+            Table table = this.table;
+            if ((table.size + map.size()) * 4L > table.ordinals.length * 3L) {
+                resize(capacityFor(table.size + map.size()));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        for (Map.Entry<? extends UUID, ? extends String> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public int size() {
+        return table.size;
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            this.table = new Table(MIN_CAPACITY);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Retrieve a snapshot of all entries.
+     *
+     * @return The entries at the time of the call.
+     */
+    @NotNull
+    @Override
+    public Set<Entry<UUID, String>> entrySet() {
+        long stamp = lock.readLock();
+        try {
+            Table table = this.table;
+            String[] languages = this.languages;
+            Set<Entry<UUID, String>> entries = new HashSet<>(table.size * 4 / 3 + 1);
+            for (int i = 0; i < table.ordinals.length; i++) {
+                if (table.ordinals[i] != 0) {
+                    entries.add(new SimpleImmutableEntry<>(new UUID(table.msb[i], table.lsb[i]), languages[table.ordinals[i]]));
+                }
+            }
+            return entries;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private String read(long msb, long lsb) {
+        Table table = this.table;
+        String[] languages = this.languages;
+        int slot = table.find(msb, lsb);
+        if (slot < 0) {
+            return null;
+        }
+        char ordinal = table.ordinals[slot];
+        // A concurrent writer may have changed the slot, the caller validates the read
+        return ordinal > 0 && ordinal < languages.length ? languages[ordinal] : null;
+    }
+
+    private char ordinal(String language) {
+        Character ordinal = ordinals.get(language);
+        if (ordinal != null) {
+            return ordinal;
+        }
+
+        if (this.languages.length > MAX_LANGUAGES) {
+            compactLanguages();
+        }
+        String[] languages = this.languages;
+        if (languages.length > MAX_LANGUAGES) {
+            throw new IllegalStateException("More than " + MAX_LANGUAGES + " distinct languages are assigned!");
+        }
+        String[] grown = Arrays.copyOf(languages, languages.length + 1);
+        grown[languages.length] = language;
+        this.languages = grown;
+        ordinals.put(language, (char) languages.length);
+        return (char) languages.length;
+    }
+
+    /**
+     * Drop the languages no receiver is assigned to anymore, renumbering the ordinals in use.
+     * Called with the write lock held, so optimistic readers retry.
+     */
+    private void compactLanguages() {
+        Table table = this.table;
+        String[] old = this.languages;
+        char[] remap = new char[old.length]; // Old ordinal, New ordinal
+        String[] kept = new String[old.length];
+        int count = 1;
+        for (int i = 0; i < table.ordinals.length; i++) {
+            char ordinal = table.ordinals[i];
+            if (ordinal == 0) {
+                continue;
+            }
+            if (remap[ordinal] == 0) {
+                remap[ordinal] = (char) count;
+                kept[count++] = old[ordinal];
+            }
+            table.ordinals[i] = remap[ordinal];
+        }
+
+        ordinals.clear();
+        for (int i = 1; i < count; i++) {
+            ordinals.put(kept[i], (char) i);
+        }
+        this.languages = Arrays.copyOf(kept, count);
+    }
+
+    private Table resize(int capacity) {
+        Table old = this.table;
+        Table table = new Table(capacity);
+        for (int i = 0; i < old.ordinals.length; i++) {
+            if (old.ordinals[i] != 0) {
+                table.insert(old.msb[i], old.lsb[i], old.ordinals[i]);
+            }
+        }
+        this.table = table;
+        return table;
+    }
+
+    private static int capacityFor(int size) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3L < size * 4L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Linear probing table. Capacity is always a power of two and the table is never full.
+     */
+    private static final class Table {
+
+        private final long[] msb;
+        private final long[] lsb;
+        private final char[] ordinals; // 0 marks a free slot
+        private final int mask;
+        private volatile int size;
+
+        private Table(int capacity) {
+            this.msb = new long[capacity];
+            this.lsb = new long[capacity];
+            this.ordinals = new char[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private static int hash(long msb, long lsb) {
+            long hash = msb ^ lsb;
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return (int) hash;
+        }
+
+        private int find(long msb, long lsb) {
+            int slot = hash(msb, lsb) & mask;
+            // Bounded, so a torn optimistic read can never loop forever
+            for (int i = 0; i <= mask; i++) {
+                if (ordinals[slot] == 0) {
+                    return -1;
+                }
+                if (this.msb[slot] == msb && this.lsb[slot] == lsb) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void insert(long msb, long lsb, char ordinal) {
+            int slot = hash(msb, lsb) & mask;
+            while (ordinals[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            this.msb[slot] = msb;
+            this.lsb[slot] = lsb;
+            this.ordinals[slot] = ordinal;
+            size++;
+        }
+
+        /**
+         * Backward-shift deletion, so no tombstones are needed.
+         */
+        private void delete(int slot) {
+            int free = slot;
+            int next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                if (ordinals[next] == 0) {
+                    break;
+                }
+                int home = hash(msb[next], lsb[next]) & mask;
+                // Move the entry back if its home slot is not between the free slot and its current position
+                if (((next - home) & mask) >= ((next - free) & mask)) {
+                    msb[free] = msb[next];
+                    lsb[free] = lsb[next];
+                    ordinals[free] = ordinals[next];
+                    free = next;
+                }
+            }
+            ordinals[free] = 0;
+            size--;
+        }
+
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.github.thesilentpro.localization.api.loader;
+
+import com.github.thesilentpro.localization.api.Localization;
+
+/**
+ * A {@link ReceiverDataLoader} which persists changes of single receivers instead of the full data set.
+ * <p>
+ * Once loaded through {@link Localization#loadReceiverData(ReceiverDataLoader)}, every language change is forwarded to the loader on a background thread,
+ * and {@link Localization#saveReceiverData(ReceiverDataLoader)} only calls {@link #flush()}.
+ *
+ * @param <T> Receiver type
+ * @author TheSilentPro (Silent)
+ */
+public interface IncrementalReceiverDataLoader<T> extends ReceiverDataLoader<T> {
+
+    /**
+     * Persist the language of a single receiver.
+     *
+     * @param receiver The receiver.
+     * @param language The language.
+     */
+    void save(T receiver, String language);
+
+    /**
+     * Remove the language of a single receiver.
+     *
+     * @param receiver The receiver.
+     */
+    void remove(T receiver);
+
+    /**
+     * Flush pending changes.
+     */
+    default void flush() {
+    }
+
+}
@@ -15,4 +15,16 @@ public interface LanguageLoader<T> {
 
     Map<String, Language<T>> load() throws IOException;
 
+    /**
+     * Load all languages to replace the currently loaded ones.
+     * Implementations should keep the current version of a language whose source failed to load, instead of dropping it.
+     * By default, this is the same as {@link #load()}.
+     *
+     * @param current The currently loaded languages.
+     * @return The languages to publish.
+     */
+    default Map<String, Language<T>> reload(Map<String, Language<T>> current) throws IOException {
+        return load();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.github.thesilentpro.localization.api.loader;
+
+import com.github.thesilentpro.localization.api.Language;
+import com.github.thesilentpro.localization.api.Localization;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link LanguageLoader} which can load single languages on demand.
+ *
+ * @author TheSilentPro (Silent)
+ * @see Localization#loadLanguagesLazily(LazyLanguageLoader, int, java.time.Duration)
+ */
+public interface LazyLanguageLoader<T> extends LanguageLoader<T> {
+
+    /**
+     * Index the available languages without loading them.
+     *
+     * @return The ids of all available languages.
+     */
+    Set<String> index() throws IOException;
+
+    /**
+     * Load a single language.
+     *
+     * @param language The language id, as returned by {@link #index()}.
+     * @return The language, or an empty {@link Optional} if it is not available.
+     */
+    Optional<Language<T>> load(String language) throws IOException;
+
+}
@@ -0,0 +1,30 @@
+package com.github.thesilentpro.localization.api.loader;
+
+import com.github.thesilentpro.localization.api.Localization;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An {@link IncrementalReceiverDataLoader} which can load single receivers on demand.
+ * <p>
+ * Passing it to {@link Localization#loadReceiverData(ReceiverDataLoader)} does not load any receiver.
+ * Receivers are loaded through {@link Localization#loadReceiver(Object)} (e.g. when joining)
+ * and evicted through {@link Localization#unloadReceiver(Object)} (e.g. when quitting),
+ * so only active receivers take up memory.
+ *
+ * @param <T> Receiver type
+ * @author TheSilentPro (Silent)
+ */
+public interface LazyReceiverDataLoader<T> extends IncrementalReceiverDataLoader<T> {
+
+    /**
+     * Load the language of a single receiver.
+     * May block, should not be called from the main thread.
+     *
+     * @param receiver The receiver.
+     * @return The language, or null if none is stored.
+     */
+    @Nullable
+    String load(@NotNull T receiver);
+
+}
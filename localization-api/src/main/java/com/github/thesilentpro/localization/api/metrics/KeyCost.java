@@ -0,0 +1,17 @@
+package com.github.thesilentpro.localization.api.metrics;
+
+/**
+ * The accumulated render cost of a message key.
+ *
+ * @param key The message key.
+ * @param count Number of renders.
+ * @param totalNanos Time spent rendering and sending the message.
+ * @author TheSilentPro (Silent)
+ */
+public record KeyCost(String key, long count, long totalNanos) {
+
+    public double meanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+}
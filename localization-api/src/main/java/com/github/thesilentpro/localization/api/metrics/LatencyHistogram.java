@@ -0,0 +1,101 @@
+package com.github.thesilentpro.localization.api.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with power-of-two buckets, bucket {@code i} counting durations in {@code [2^i, 2^(i+1))} nanoseconds.
+ * Every bucket is a {@link LongAdder}, so concurrent recording threads do not contend on a single counter.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class LatencyHistogram {
+
+    static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder(); // Nanos
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a duration.
+     *
+     * @param nanos The duration in nanoseconds, negative values are counted as zero.
+     */
+    public void record(long nanos) {
+        nanos = Math.max(nanos, 0);
+        buckets[bucket(nanos)].increment();
+        total.add(nanos);
+    }
+
+    /**
+     * Take a snapshot. Concurrent records may be partially included.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        return new Snapshot(count, total.sum(), counts);
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        total.reset();
+    }
+
+    static int bucket(long nanos) {
+        return nanos == 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * A point in time copy of a {@link LatencyHistogram}.
+     *
+     * @param count Number of recorded durations.
+     * @param totalNanos Sum of all recorded durations.
+     * @param buckets Counts per power-of-two bucket.
+     */
+    public record Snapshot(long count, long totalNanos, long[] buckets) {
+
+        public double meanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        /**
+         * Estimate a percentile.
+         *
+         * @param percentile The percentile, between 0 and 100.
+         * @return The upper bound of the bucket containing the percentile, in nanoseconds, or 0 if nothing was recorded.
+         */
+        public long percentileNanos(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100!");
+            }
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+    }
+
+}
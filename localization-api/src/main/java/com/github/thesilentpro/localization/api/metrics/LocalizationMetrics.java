@@ -0,0 +1,194 @@
+package com.github.thesilentpro.localization.api.metrics;
+
+import com.github.thesilentpro.localization.api.Localization;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects lookup outcomes, render stage latencies and the most expensive message keys of a {@link Localization}.
+ * <p>
+ * Metrics are disabled unless an instance is attached through {@link Localization#setMetrics(LocalizationMetrics)},
+ * in which case the only cost left on the hot paths is a single field read.
+ * When attached, every counter is a {@link LongAdder}, so recording from many threads does not contend on shared cache lines.
+ * <p>
+ * All values are cumulative until {@link #reset()}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class LocalizationMetrics {
+
+    private static final LookupOutcome[] OUTCOMES = LookupOutcome.values();
+    private static final RenderStage[] STAGES = RenderStage.values();
+
+    private final LongAdder[] lookups = new LongAdder[OUTCOMES.length];
+    private final LatencyHistogram[] stages = new LatencyHistogram[STAGES.length];
+    private final Map<String, Cost> costs = new ConcurrentHashMap<>(); // Key, Render cost
+    private final int maxTrackedKeys;
+    private final int topKeys;
+
+    private final Object exportLock = new Object();
+    private ScheduledExecutorService exportExecutor;
+
+    /**
+     * Creates a new instance tracking up to 4096 keys and reporting the 10 most expensive ones.
+     */
+    public LocalizationMetrics() {
+        this(4096, 10);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxTrackedKeys The maximum number of keys whose render cost is tracked. Keys first rendered after the limit was reached are ignored.
+     * @param topKeys The number of most expensive keys included in a {@link #snapshot()}.
+     */
+    public LocalizationMetrics(int maxTrackedKeys, int topKeys) {
+        if (maxTrackedKeys < 0 || topKeys < 0) {
+            throw new IllegalArgumentException("Limits must not be negative!");
+        }
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.topKeys = topKeys;
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = new LongAdder();
+        }
+        for (int i = 0; i < stages.length; i++) {
+            stages[i] = new LatencyHistogram();
+        }
+    }
+
+    public void recordLookup(@NotNull LookupOutcome outcome) {
+        lookups[outcome.ordinal()].increment();
+    }
+
+    public void recordStage(@NotNull RenderStage stage, long nanos) {
+        stages[stage.ordinal()].record(nanos);
+    }
+
+    /**
+     * Record the total time spent rendering and sending a message.
+     *
+     * @param key The message key.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void recordRender(@NotNull String key, long nanos) {
+        Cost cost = costs.get(key);
+        if (cost == null) {
+            if (costs.size() >= maxTrackedKeys) {
+                return;
+            }
+            cost = costs.computeIfAbsent(key, k -> new Cost());
+        }
+        cost.count.increment();
+        cost.total.add(Math.max(nanos, 0));
+    }
+
+    public long getLookups(@NotNull LookupOutcome outcome) {
+        return lookups[outcome.ordinal()].sum();
+    }
+
+    @NotNull
+    public LatencyHistogram getHistogram(@NotNull RenderStage stage) {
+        return stages[stage.ordinal()];
+    }
+
+    /**
+     * Retrieve the most expensive keys by total render time.
+     *
+     * @param limit The maximum number of keys.
+     * @return The keys, most expensive first.
+     */
+    @NotNull
+    public List<KeyCost> getExpensiveKeys(int limit) {
+        return costs.entrySet().stream()
+                .map(entry -> new KeyCost(entry.getKey(), entry.getValue().count.sum(), entry.getValue().total.sum()))
+                .sorted(Comparator.comparingLong(KeyCost::totalNanos).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    @NotNull
+    public MetricsSnapshot snapshot() {
+        Map<LookupOutcome, Long> lookups = new EnumMap<>(LookupOutcome.class);
+        for (LookupOutcome outcome : OUTCOMES) {
+            lookups.put(outcome, getLookups(outcome));
+        }
+        Map<RenderStage, LatencyHistogram.Snapshot> stages = new EnumMap<>(RenderStage.class);
+        for (RenderStage stage : STAGES) {
+            stages.put(stage, getHistogram(stage).snapshot());
+        }
+        return new MetricsSnapshot(lookups, stages, getExpensiveKeys(topKeys));
+    }
+
+    public void reset() {
+        for (LongAdder lookup : lookups) {
+            lookup.reset();
+        }
+        for (LatencyHistogram stage : stages) {
+            stage.reset();
+        }
+        costs.clear();
+    }
+
+    // Export
+
+    /**
+     * Periodically hand a {@link #snapshot()} to an exporter on a background thread, replacing any previous exporter.
+     *
+     * @param exporter The exporter.
+     * @param interval The export interval.
+     */
+    public void startExporting(@NotNull MetricsExporter exporter, @NotNull Duration interval) {
+        Objects.requireNonNull(exporter, "Exporter must not be null!");
+        Objects.requireNonNull(interval, "Interval must not be null!");
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Interval must be positive!");
+        }
+
+        synchronized (exportLock) {
+            stopExporting();
+            this.exportExecutor = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "Localization-Metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = interval.toMillis();
+            this.exportExecutor.scheduleAtFixedRate(() -> {
+                try {
+                    exporter.export(snapshot());
+                } catch (RuntimeException ex) {
+                    // Keep exporting, a failed export must not cancel the schedule
+                    //noinspection CallToPrintStackTrace
+                    ex.printStackTrace();
+                }
+            }, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void stopExporting() {
+        synchronized (exportLock) {
+            if (this.exportExecutor != null) {
+                this.exportExecutor.shutdownNow();
+                this.exportExecutor = null;
+            }
+        }
+    }
+
+    private static final class Cost {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder(); // Nanos
+
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.github.thesilentpro.localization.api.metrics;
+
+/**
+ * The outcome of a message lookup, as counted by {@link LocalizationMetrics}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public enum LookupOutcome {
+
+    /**
+     * The message was found in the requested language.
+     */
+    HIT,
+
+    /**
+     * The message is missing from the requested language and was taken from a fallback language.
+     */
+    FALLBACK,
+
+    /**
+     * Neither the requested language nor any of its fallbacks contain the message.
+     */
+    MISS;
+
+}
@@ -0,0 +1,18 @@
+package com.github.thesilentpro.localization.api.metrics;
+
+/**
+ * Receives snapshots of {@link LocalizationMetrics}, e.g. to publish them to a monitoring system.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@FunctionalInterface
+public interface MetricsExporter {
+
+    /**
+     * Export a snapshot. Invoked on the metrics export thread.
+     *
+     * @param snapshot The snapshot.
+     */
+    void export(MetricsSnapshot snapshot);
+
+}
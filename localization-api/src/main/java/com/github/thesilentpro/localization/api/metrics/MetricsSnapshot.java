@@ -0,0 +1,20 @@
+package com.github.thesilentpro.localization.api.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A point in time copy of {@link LocalizationMetrics}, handed to a {@link MetricsExporter}.
+ *
+ * @param lookups Lookup counts. Format: Outcome, Count
+ * @param stages Latencies. Format: Stage, Histogram
+ * @param expensiveKeys The most expensive keys by total render time, most expensive first.
+ * @author TheSilentPro (Silent)
+ */
+public record MetricsSnapshot(Map<LookupOutcome, Long> lookups, Map<RenderStage, LatencyHistogram.Snapshot> stages, List<KeyCost> expensiveKeys) {
+
+    public long getLookups(LookupOutcome outcome) {
+        return lookups.getOrDefault(outcome, 0L);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.github.thesilentpro.localization.api.metrics;
+
+/**
+ * A stage of rendering and sending a message, timed by {@link LocalizationMetrics}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public enum RenderStage {
+
+    /**
+     * Resolving external placeholders, e.g. through PlaceholderAPI.
+     */
+    PLACEHOLDERS,
+
+    /**
+     * Building the final message around the resolved values, e.g. MiniMessage parsing, component rebuilding or color translation.
+     */
+    FORMAT,
+
+    /**
+     * Substituting the arguments, when done separately from {@link #FORMAT}.
+     */
+    ARGUMENTS,
+
+    /**
+     * Handing the rendered message to the receiver.
+     */
+    DELIVERY;
+
+}
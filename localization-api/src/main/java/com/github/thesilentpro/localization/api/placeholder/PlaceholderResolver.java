@@ -0,0 +1,68 @@
+package com.github.thesilentpro.localization.api.placeholder;
+
+import com.github.thesilentpro.localization.api.Localization;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Resolves external placeholders (e.g. {@code %player_name%}) for {@link Localization}.
+ * Resolution is only invoked for messages that were found to contain placeholders by {@link Placeholders#find(String)}.
+ *
+ * @param <R> Receiver type
+ * @author TheSilentPro (Silent)
+ */
+public interface PlaceholderResolver<R> {
+
+    /**
+     * Check whether this resolver is currently able to resolve placeholders.
+     *
+     * @return True if available, otherwise false.
+     */
+    boolean isAvailable();
+
+    /**
+     * Resolve all placeholders in a text.
+     *
+     * @param receiver The receiver, or null for the console.
+     * @param text The text containing placeholders.
+     * @return The resolved text.
+     */
+    @NotNull
+    String resolve(@Nullable R receiver, @NotNull String text);
+
+    /**
+     * Bind this resolver to a receiver, e.g. to resolve all placeholder slots of a single render.
+     * Implementations may look the receiver up once here instead of on every call.
+     *
+     * @param receiver The receiver, or null for the console.
+     * @return A function resolving all placeholders in a text for the receiver.
+     */
+    @NotNull
+    default UnaryOperator<String> bind(@Nullable R receiver) {
+        return text -> resolve(receiver, text);
+    }
+
+    /**
+     * A resolver that never resolves anything.
+     *
+     * @param <R> Receiver type
+     * @return The resolver.
+     */
+    @NotNull
+    static <R> PlaceholderResolver<R> none() {
+        return new PlaceholderResolver<>() {
+            @Override
+            public boolean isAvailable() {
+                return false;
+            }
+
+            @Override
+            public @NotNull String resolve(@Nullable R receiver, @NotNull String text) {
+                return text;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.github.thesilentpro.localization.api.placeholder;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load-time analysis of external placeholders.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class Placeholders {
+
+    /**
+     * Pattern for external placeholders. Example: %player_name%
+     */
+    public static final Pattern PATTERN = Pattern.compile("%[^%\\s]+%");
+
+    /**
+     * Shared empty result, messages without placeholders should reference this.
+     */
+    public static final String[] NONE = new String[0];
+
+    private Placeholders() {
+    }
+
+    /**
+     * Find all distinct external placeholders in a text.
+     *
+     * @param text The text.
+     * @return The placeholders in order of appearance, including the surrounding '%', or {@link #NONE}.
+     */
+    @NotNull
+    public static String[] find(@NotNull String text) {
+        if (text.indexOf('%') < 0) {
+            return NONE;
+        }
+
+        Set<String> found = new LinkedHashSet<>();
+        Matcher matcher = PATTERN.matcher(text);
+        while (matcher.find()) {
+            found.add(matcher.group());
+        }
+        return found.isEmpty() ? NONE : found.toArray(String[]::new);
+    }
+
+}
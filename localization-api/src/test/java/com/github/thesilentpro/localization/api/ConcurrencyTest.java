@@ -0,0 +1,174 @@
+package com.github.thesilentpro.localization.api;
+
+import com.github.thesilentpro.localization.api.loader.LanguageLoader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Readers look up messages while a writer changes receiver languages or reloads all languages.
+ * Every key exists in the default language, which ends every fallback chain, so a missing message means a reader observed a partially published state.
+ *
+ * @author TheSilentPro (Silent)
+ */
+class ConcurrencyTest {
+
+    private static final String[] LANGUAGES = {"en", "de", "fr", "pt", "pt_BR"};
+    private static final int KEYS = 200;
+    private static final int RECEIVERS = 1000;
+    private static final int READERS = 3;
+    private static final long DURATION_MILLIS = 2000;
+
+    private TestLocalization localization;
+    private LanguageLoader<String> loader;
+    private UUID[] receivers;
+
+    @BeforeEach
+    void setup() throws Exception {
+        localization = new TestLocalization();
+        localization.setFallbacks("pt_BR", "pt");
+        loader = loader();
+        localization.loadLanguages(loader);
+
+        receivers = new UUID[RECEIVERS];
+        for (int i = 0; i < RECEIVERS; i++) {
+            receivers[i] = UUID.randomUUID();
+            localization.setLanguage(receivers[i], LANGUAGES[i % LANGUAGES.length]);
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void lookupsWhileChangingLanguages() throws Exception {
+        run(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            localization.setLanguage(receivers[random.nextInt(RECEIVERS)], LANGUAGES[random.nextInt(LANGUAGES.length)]);
+        });
+    }
+
+    @Test
+    @Timeout(30)
+    void lookupsWhileReloading() throws Exception {
+        run(() -> localization.reloadLanguages(loader));
+    }
+
+    /**
+     * Run the readers against a single writer for a fixed duration.
+     */
+    private void run(Write writer) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(READERS + 1);
+        try {
+            List<Future<Long>> readers = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                readers.add(executor.submit(() -> {
+                    long lookups = 0;
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (running.get()) {
+                        UUID receiver = receivers[random.nextInt(RECEIVERS)];
+                        String key = key(random.nextInt(KEYS));
+                        Optional<String> message = localization.getMessage(receiver, key);
+                        if (message.isEmpty()) {
+                            throw new AssertionError("Missing message " + key + " for " + localization.getLanguage(receiver).orElse(null));
+                        }
+                        lookups++;
+                    }
+                    return lookups;
+                }));
+            }
+            Future<Long> writes = executor.submit(() -> {
+                long count = 0;
+                while (running.get()) {
+                    writer.write();
+                    count++;
+                }
+                return count;
+            });
+
+            Thread.sleep(DURATION_MILLIS);
+            running.set(false);
+
+            for (Future<Long> reader : readers) {
+                assertTrue(reader.get() > 0, "Reader did not look up anything");
+            }
+            assertTrue(writes.get() > 0, "Writer did not write anything");
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Supplies new {@link Language} instances on every load. The default language contains all keys, every other one only half of them.
+     */
+    private static LanguageLoader<String> loader() {
+        return () -> {
+            Map<String, Language<String>> result = new HashMap<>();
+            for (int l = 0; l < LANGUAGES.length; l++) {
+                Map<String, String> messages = new HashMap<>();
+                for (int k = 0; k < KEYS; k++) {
+                    if (l == 0 || k % 2 == 0) {
+                        messages.put(key(k), LANGUAGES[l] + " message " + k);
+                    }
+                }
+                result.put(LANGUAGES[l], new Language<>(LANGUAGES[l], messages));
+            }
+            return result;
+        };
+    }
+
+    private static String key(int index) {
+        return "category" + (index % 8) + ".message" + index;
+    }
+
+    @FunctionalInterface
+    private interface Write {
+
+        void write() throws Exception;
+
+    }
+
+    private static final class TestLocalization extends AbstractLocalization<String, String, UUID> {
+
+        private TestLocalization() {
+            super("en", new UUIDReceiverMap());
+        }
+
+        @Override
+        public void sendTranslatedMessage(@NotNull UUID receiver, @NotNull String message) {
+        }
+
+        @Override
+        public void sendMessage(@NotNull UUID receiver, @NotNull String key, @Nullable UnaryOperator<String> function, @Nullable String... args) {
+        }
+
+        @Override
+        public @NotNull Optional<String> renderMessage(@NotNull UUID receiver, @NotNull String key, @Nullable UnaryOperator<String> function, @Nullable String... args) {
+            return getMessage(receiver, key);
+        }
+
+        @Override
+        public void sendConsoleMessage(ConsoleLogLevel level, @NotNull String key, @Nullable UnaryOperator<String> function, @Nullable String... args) {
+        }
+
+    }
+
+}
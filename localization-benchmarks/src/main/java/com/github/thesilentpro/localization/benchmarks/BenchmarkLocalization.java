@@ -0,0 +1,149 @@
+package com.github.thesilentpro.localization.benchmarks;
+
+import com.github.thesilentpro.localization.api.AbstractLocalization;
+import com.github.thesilentpro.localization.api.ConsoleLogLevel;
+import com.github.thesilentpro.localization.api.Language;
+import com.github.thesilentpro.localization.api.UUIDReceiverMap;
+import com.github.thesilentpro.localization.api.loader.LanguageLoader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Platform independent {@link AbstractLocalization} which hands every sent message to a {@link Blackhole}.
+ * Messages are rendered through {@link #render(String, String...)}, standing in for the rendering of a platform.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class BenchmarkLocalization extends AbstractLocalization<String, String, UUID> {
+
+    private final Blackhole blackhole;
+    private final boolean broadcast;
+
+    /**
+     * @param blackhole Consumes sent messages.
+     * @param broadcast Whether messages are rendered once per language when broadcasting.
+     */
+    public BenchmarkLocalization(Blackhole blackhole, boolean broadcast) {
+        super("en", new UUIDReceiverMap());
+        this.blackhole = blackhole;
+        this.broadcast = broadcast;
+    }
+
+    /**
+     * Load generated languages.
+     *
+     * @param keys Number of keys per language.
+     * @param languages Language ids, the first one contains all keys, every other one only half of them.
+     */
+    public void load(int keys, String... languages) throws IOException {
+        loadLanguages(loader(keys, languages));
+    }
+
+    /**
+     * Create a loader for generated languages, supplying new {@link Language} instances on every load.
+     *
+     * @param keys Number of keys per language.
+     * @param languages Language ids, the first one contains all keys, every other one only half of them.
+     * @return The loader.
+     */
+    public static LanguageLoader<String> loader(int keys, String... languages) {
+        return () -> {
+            Map<String, Language<String>> result = new HashMap<>();
+            for (int l = 0; l < languages.length; l++) {
+                Map<String, String> messages = new HashMap<>();
+                for (int k = 0; k < keys; k++) {
+                    if (l == 0 || k % 2 == 0) {
+                        messages.put(key(k), languages[l] + " message " + k + " for ${1}");
+                    }
+                }
+                result.put(languages[l], new Language<>(languages[l], messages));
+            }
+            return result;
+        };
+    }
+
+    public static String key(int index) {
+        return "category" + (index % 16) + ".message" + index;
+    }
+
+    @Override
+    public void sendTranslatedMessage(@NotNull UUID receiver, @NotNull String message) {
+        blackhole.consume(message);
+    }
+
+    @Override
+    public void sendMessage(@NotNull UUID receiver, @NotNull String key, @Nullable UnaryOperator<String> function, @Nullable String... args) {
+        renderMessage(receiver, key, function, args).ifPresent(message -> sendTranslatedMessage(receiver, message));
+    }
+
+    @Override
+    public @NotNull Optional<String> renderMessage(@NotNull UUID receiver, @NotNull String key, @Nullable UnaryOperator<String> function, @Nullable String... args) {
+        return getMessage(receiver, key).map(message -> {
+            String rendered = render(message, args);
+            return function != null ? function.apply(rendered) : rendered;
+        });
+    }
+
+    @Override
+    public void sendConsoleMessage(ConsoleLogLevel level, @NotNull String key, @Nullable UnaryOperator<String> function, @Nullable String... args) {
+        getConsoleMessage(key).map(message -> render(message, args)).ifPresent(blackhole::consume);
+    }
+
+    /**
+     * Renders once per language if broadcasting is enabled, otherwise every receiver is rendered through {@link #sendMessage(UUID, String)}.
+     */
+    @Override
+    protected @Nullable String renderBroadcast(@Nullable UUID receiver, @NotNull String message) {
+        return broadcast ? render(message) : null;
+    }
+
+    /**
+     * Copy a message, replacing every {@code ${n}} with the n-th argument. Placeholders without an argument are kept.
+     *
+     * @param message The message.
+     * @param args The arguments.
+     * @return The rendered message, always a new instance.
+     */
+    public static String render(@NotNull String message, @Nullable String... args) {
+        StringBuilder builder = new StringBuilder(message.length() + 16);
+        int from = 0;
+        int start;
+        while ((start = message.indexOf("${", from)) != -1) {
+            int end = message.indexOf('}', start);
+            if (end == -1) {
+                break;
+            }
+            builder.append(message, from, start);
+            String argument = argument(message, start + 2, end, args);
+            if (argument != null) {
+                builder.append(argument);
+            } else {
+                builder.append(message, start, end + 1);
+            }
+            from = end + 1;
+        }
+        return builder.append(message, from, message.length()).toString();
+    }
+
+    @Nullable
+    private static String argument(String message, int start, int end, @Nullable String[] args) {
+        if (args == null) {
+            return null;
+        }
+        try {
+            int index = Integer.parseInt(message, start, end, 10) - 1;
+            return index >= 0 && index < args.length ? args[index] : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+}
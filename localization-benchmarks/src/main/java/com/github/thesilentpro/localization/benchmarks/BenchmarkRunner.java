@@ -0,0 +1,29 @@
+package com.github.thesilentpro.localization.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so allocation rates are reported next to the timings.
+ * Accepts the regular JMH command line options, e.g. {@code java -jar benchmarks.jar LookupBenchmark -f 1}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.github.thesilentpro.localization.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broadcasting a message to many receivers spread over a few languages,
+ * rendered once per language ({@code grouped}) versus looked up and rendered per receiver.
+ * Both paths render through {@link BenchmarkLocalization#render(String, String...)}, so only the number of renders differs.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadcastBenchmark {
+
+    private static final String[] LANGUAGES = {"en", "de", "fr", "es"};
+
+    @Param({"100", "1000"})
+    private int receivers;
+
+    @Param({"true", "false"})
+    private boolean grouped;
+
+    private BenchmarkLocalization localization;
+    private UUID[] targets;
+    private String key;
+
+    @Setup
+    public void setup(Blackhole blackhole) throws IOException {
+        localization = new BenchmarkLocalization(blackhole, grouped);
+        localization.load(1000, LANGUAGES);
+
+        targets = new UUID[receivers];
+        for (int i = 0; i < receivers; i++) {
+            targets[i] = UUID.randomUUID();
+            localization.setLanguage(targets[i], LANGUAGES[i % LANGUAGES.length]);
+        }
+        key = BenchmarkLocalization.key(42);
+    }
+
+    @Benchmark
+    public void broadcast() {
+        localization.sendMessages(key, targets);
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.github.thesilentpro.localization.benchmarks;
+
+import com.github.thesilentpro.localization.api.loader.LanguageLoader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups while writers change receiver languages or reload all languages at the same time,
+ * showing what lookups cost under write contention. Correctness under the same load is checked by the ConcurrencyTest of the api module.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrencyBenchmark {
+
+    private static final String[] LANGUAGES = {"en", "de", "fr", "pt", "pt_BR"};
+    private static final int KEYS = 1000;
+    private static final int RECEIVERS = 10000;
+
+    private BenchmarkLocalization localization;
+    private LanguageLoader<String> loader;
+    private UUID[] receivers;
+
+    @Setup
+    public void setup(Blackhole blackhole) throws IOException {
+        localization = new BenchmarkLocalization(blackhole, false);
+        loader = BenchmarkLocalization.loader(KEYS, LANGUAGES);
+        localization.reloadLanguages(loader);
+
+        receivers = new UUID[RECEIVERS];
+        for (int i = 0; i < RECEIVERS; i++) {
+            receivers[i] = UUID.randomUUID();
+            localization.setLanguage(receivers[i], LANGUAGES[i % LANGUAGES.length]);
+        }
+    }
+
+    @Benchmark
+    @Group("languageChanges")
+    @GroupThreads(3)
+    public Optional<String> lookupWhileChanging() {
+        return lookup();
+    }
+
+    @Benchmark
+    @Group("languageChanges")
+    @GroupThreads(1)
+    public void changeLanguage() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        localization.setLanguage(receivers[random.nextInt(RECEIVERS)], LANGUAGES[random.nextInt(LANGUAGES.length)]);
+    }
+
+    @Benchmark
+    @Group("reloads")
+    @GroupThreads(3)
+    public Optional<String> lookupWhileReloading() {
+        return lookup();
+    }
+
+    @Benchmark
+    @Group("reloads")
+    @GroupThreads(1)
+    public int reload() throws IOException {
+        return localization.reloadLanguages(loader);
+    }
+
+    private Optional<String> lookup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return localization.getMessage(receivers[random.nextInt(RECEIVERS)], BenchmarkLocalization.key(random.nextInt(KEYS)));
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.github.thesilentpro.localization.benchmarks;
+
+import com.github.thesilentpro.localization.api.Language;
+import com.github.thesilentpro.localization.api.UUIDReceiverMap;
+import com.github.thesilentpro.localization.fileloader.LanguageFileLoader;
+
+import java.io.File;
+import java.lang.ref.Reference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Reports the retained heap of receiver data and loaded languages, which JMH does not measure.
+ * Run with a fixed heap and the serial collector, so {@link System#gc()} always collects fully:
+ * {@code java -Xmx4g -XX:+UseSerialGC -cp benchmarks.jar com.github.thesilentpro.localization.benchmarks.FootprintReport}.
+ * Results depend on the JVM and its object layout, e.g. whether compressed oops are enabled.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class FootprintReport {
+
+    private static final String[] RECEIVER_LANGUAGES = {"en", "de", "fr", "es", "pt_BR"};
+    private static final int LANGUAGES = 40;
+    private static final int KEYS = 5000;
+
+    private FootprintReport() {
+    }
+
+    public static void main(String[] args) {
+        for (int receivers : new int[]{1_000_000, 5_000_000}) {
+            report("ConcurrentHashMap, " + receivers + " receivers", () -> receivers(new ConcurrentHashMap<>(), receivers));
+            report("UUIDReceiverMap,   " + receivers + " receivers", () -> receivers(new UUIDReceiverMap(), receivers));
+        }
+
+        report(LANGUAGES + " languages x " + KEYS + " keys, deduplicate off", () -> languages(false));
+        report(LANGUAGES + " languages x " + KEYS + " keys, deduplicate on ", () -> languages(true));
+    }
+
+    private static Map<UUID, String> receivers(Map<UUID, String> map, int count) {
+        for (int i = 0; i < count; i++) {
+            map.put(UUID.randomUUID(), RECEIVER_LANGUAGES[i % RECEIVER_LANGUAGES.length]);
+        }
+        return map;
+    }
+
+    /**
+     * Map raw languages the way a file loader would after parsing: every key and value is a distinct string instance,
+     * and half of the messages of every language are left untranslated (identical to the default language).
+     */
+    private static Map<String, Language<String>> languages(boolean deduplicate) {
+        Map<String, Map<String, Object>> raw = new HashMap<>();
+        for (int l = 0; l < LANGUAGES; l++) {
+            Map<String, Object> messages = new HashMap<>();
+            for (int k = 0; k < KEYS; k++) {
+                String key = new String(BenchmarkLocalization.key(k));
+                String value = l == 0 || k % 2 == 0 ? "Untranslated message number " + k : "lang" + l + " message number " + k;
+                messages.put(key, new String(value));
+            }
+            raw.put("lang" + l, messages);
+        }
+
+        LanguageFileLoader<String> loader = new LanguageFileLoader<>(FootprintReport.class, "lang", new File(".")) {
+            @Override
+            public Optional<Language<String>> load(File file) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        loader.setDeduplicate(deduplicate);
+        return loader.mapLanguages(raw);
+    }
+
+    private static void report(String name, Supplier<Object> allocation) {
+        long before = usedHeap();
+        Object retained = allocation.get();
+        long after = usedHeap();
+        System.out.printf("%-50s %,10d KiB%n", name, (after - before) / 1024);
+        Reference.reachabilityFence(retained); // Keep the allocation reachable until measured
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
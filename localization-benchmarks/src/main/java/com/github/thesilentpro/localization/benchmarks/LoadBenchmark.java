@@ -0,0 +1,125 @@
+package com.github.thesilentpro.localization.benchmarks;
+
+import com.github.thesilentpro.localization.api.Language;
+import com.github.thesilentpro.localization.fileloader.BundleLanguageLoader;
+import com.github.thesilentpro.localization.fileloader.JsonLanguageFileLoader;
+import com.github.thesilentpro.localization.fileloader.LanguageFileLoader;
+import com.github.thesilentpro.localization.fileloader.YamlLanguageFileLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Loading generated language files of different sizes, parsed from YAML or JSON, or read from a precompiled bundle.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LoadBenchmark {
+
+    private static final String[] LANGUAGES = {"en", "de", "fr", "es"};
+
+    @Param({"1000", "10000", "100000"})
+    private int keys;
+
+    @Param({"yaml", "json"})
+    private String format;
+
+    private Path directory;
+    private LanguageFileLoader<String> loader;
+    private BundleLanguageLoader<String> bundleLoader;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("localization-load");
+        for (String language : LANGUAGES) {
+            write(directory.resolve(language + "." + format).toFile(), language);
+        }
+
+        File container = directory.toFile();
+        loader = format.equals("yaml")
+                ? new YamlLanguageFileLoader<>(LoadBenchmark.class, "lang", container) {
+                    @Override
+                    public void createDefaults() {
+                        // Files are generated, there are no defaults in the jar
+                    }
+                }
+                : new JsonLanguageFileLoader<>(LoadBenchmark.class, "lang", container) {
+                    @Override
+                    public void createDefaults() {
+                        // Files are generated, there are no defaults in the jar
+                    }
+                };
+        bundleLoader = new BundleLanguageLoader<>(loader);
+        bundleLoader.build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, Language<String>> parse() throws IOException {
+        return loader.load();
+    }
+
+    @Benchmark
+    public Map<String, Language<String>> bundle() throws IOException {
+        return bundleLoader.load();
+    }
+
+    /**
+     * Write a nested file with 16 categories, using the same keys as {@link BenchmarkLocalization#key(int)}.
+     */
+    private void write(File file, String language) throws IOException {
+        boolean yaml = format.equals("yaml");
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            if (!yaml) {
+                writer.write("{\n");
+            }
+            for (int category = 0; category < 16; category++) {
+                if (yaml) {
+                    writer.write("category" + category + ":\n");
+                } else {
+                    writer.write((category > 0 ? ",\n" : "") + "  \"category" + category + "\": {\n");
+                }
+                boolean first = true;
+                for (int k = category; k < keys; k += 16) {
+                    String value = language + " message " + k + " for ${1}";
+                    if (yaml) {
+                        writer.write("  message" + k + ": \"" + value + "\"\n");
+                    } else {
+                        writer.write((first ? "" : ",\n") + "    \"message" + k + "\": \"" + value + "\"");
+                    }
+                    first = false;
+                }
+                if (!yaml) {
+                    writer.write("\n  }");
+                }
+            }
+            if (!yaml) {
+                writer.write("\n}\n");
+            }
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.github.thesilentpro.localization.benchmarks;
+
+import com.github.thesilentpro.localization.api.MessageKey;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message lookup by string key and by {@link MessageKey} handle: direct hits, misses and hits through the fallback chain.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    @Param({"1000", "10000"})
+    private int keys;
+
+    private BenchmarkLocalization localization;
+    private UUID english;
+    private UUID german;
+
+    private String hitKey;
+    private String fallbackKey;
+    private MessageKey hitHandle;
+    private MessageKey fallbackHandle;
+    private MessageKey missHandle;
+
+    @Setup
+    public void setup(Blackhole blackhole) throws IOException {
+        localization = new BenchmarkLocalization(blackhole, false);
+        localization.load(keys, "en", "de");
+
+        english = UUID.randomUUID();
+        german = UUID.randomUUID();
+        localization.setLanguage(english, "en");
+        localization.setLanguage(german, "de");
+
+        hitKey = BenchmarkLocalization.key(keys / 2);           // Even index, present in both languages
+        fallbackKey = BenchmarkLocalization.key(keys / 2 + 1);  // Odd index, only present in the default language
+        hitHandle = localization.key(hitKey);
+        fallbackHandle = localization.key(fallbackKey);
+        missHandle = localization.key("missing.key");
+    }
+
+    @Benchmark
+    public Optional<String> hit() {
+        return localization.getMessage(english, hitKey);
+    }
+
+    @Benchmark
+    public Optional<String> miss() {
+        return localization.getMessage(english, "missing.key");
+    }
+
+    @Benchmark
+    public Optional<String> fallback() {
+        return localization.getMessage(german, fallbackKey);
+    }
+
+    @Benchmark
+    public Optional<String> hitHandle() {
+        return localization.getMessage(english, hitHandle);
+    }
+
+    @Benchmark
+    public Optional<String> missHandle() {
+        return localization.getMessage(english, missHandle);
+    }
+
+    @Benchmark
+    public Optional<String> fallbackHandle() {
+        return localization.getMessage(german, fallbackHandle);
+    }
+
+}
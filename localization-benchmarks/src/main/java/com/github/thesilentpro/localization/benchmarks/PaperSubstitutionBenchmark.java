@@ -0,0 +1,82 @@
+package com.github.thesilentpro.localization.benchmarks;
+
+import com.github.thesilentpro.localization.paper.MessageTemplate;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Rendering of MiniMessage messages: argument substitution through {@link Component#replaceText},
+ * placeholder slots of a precompiled {@link MessageTemplate}, and re-parsing the raw string on every send.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaperSubstitutionBenchmark {
+
+    // Same pattern as PaperLocalization
+    private static final Pattern ARGS_PATTERN = Pattern.compile("\\$\\{(?:(\\d+)(\\+)?|(\\*))\\}", Pattern.CASE_INSENSITIVE);
+    private static final String ARGS_MESSAGE = "<green>Welcome <yellow>${1}</yellow>, you have <gold>${2}</gold> coins and <aqua>${3}</aqua> new messages.";
+    private static final String PLACEHOLDER_MESSAGE = "<green>Welcome <yellow>%player_name%</yellow>, you are in <gold>%player_world%</gold>.";
+
+    private final String[] args = {"Notch", "1250", "3"};
+    private final UnaryOperator<String> resolver = placeholder -> switch (placeholder) {
+        case "%player_name%" -> "Notch";
+        case "%player_world%" -> "world_nether";
+        default -> placeholder;
+    };
+
+    private Component argsComponent;
+    private MessageTemplate template;
+
+    @Setup
+    public void setup() {
+        argsComponent = MiniMessage.miniMessage().deserialize(ARGS_MESSAGE);
+        template = MessageTemplate.compile(PLACEHOLDER_MESSAGE);
+    }
+
+    /**
+     * Mirrors the argument replacement of PaperLocalization for plain indexed arguments.
+     */
+    @Benchmark
+    public Component replaceArgs() {
+        return argsComponent.replaceText(builder -> builder
+                .match(ARGS_PATTERN)
+                .replacement((matcher, b) -> {
+                    String digitGroup = matcher.group(1);
+                    if (digitGroup == null) {
+                        return Component.text(String.join(" ", args));
+                    }
+                    int index = Integer.parseInt(digitGroup) - 1;
+                    return Component.text(index >= 0 && index < args.length ? args[index] : "");
+                }));
+    }
+
+    @Benchmark
+    public Component templatePlaceholders() {
+        return template.render(resolver);
+    }
+
+    @Benchmark
+    public Component reparsePlaceholders() {
+        String raw = PLACEHOLDER_MESSAGE
+                .replace("%player_name%", resolver.apply("%player_name%"))
+                .replace("%player_world%", resolver.apply("%player_world%"));
+        return MiniMessage.miniMessage().deserialize(raw);
+    }
+
+    @Benchmark
+    public Component roundTrip() {
+        return MiniMessage.miniMessage().deserialize(MiniMessage.miniMessage().serialize(argsComponent));
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.github.thesilentpro.localization.benchmarks;
+
+import com.github.thesilentpro.localization.api.UUIDReceiverMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receiver language lookups and updates on {@link UUIDReceiverMap} versus a {@link ConcurrentHashMap}.
+ * Run with multiple threads ({@code -t}) to include contention.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReceiverDataBenchmark {
+
+    private static final String[] LANGUAGES = {"en", "de", "fr", "es", "pt_BR"};
+
+    @Param({"10000", "1000000"})
+    private int receivers;
+
+    @Param({"uuid", "concurrent"})
+    private String map;
+
+    private Map<UUID, String> data;
+    private UUID[] keys;
+
+    @Setup
+    public void setup() {
+        data = map.equals("uuid") ? new UUIDReceiverMap() : new ConcurrentHashMap<>();
+        keys = new UUID[receivers];
+        for (int i = 0; i < receivers; i++) {
+            keys[i] = UUID.randomUUID();
+            data.put(keys[i], LANGUAGES[i % LANGUAGES.length]);
+        }
+    }
+
+    @Benchmark
+    public String get() {
+        return data.get(keys[ThreadLocalRandom.current().nextInt(keys.length)]);
+    }
+
+    @Benchmark
+    public String put() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return data.put(keys[random.nextInt(keys.length)], LANGUAGES[random.nextInt(LANGUAGES.length)]);
+    }
+
+}
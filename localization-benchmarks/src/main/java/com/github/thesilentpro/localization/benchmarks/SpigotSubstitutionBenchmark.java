@@ -0,0 +1,53 @@
+package com.github.thesilentpro.localization.benchmarks;
+
+import com.github.thesilentpro.localization.spigot.MessageTemplate;
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Argument substitution and colorizing of legacy messages: the precompiled {@link MessageTemplate}
+ * versus matching the arguments pattern and translating color codes on every send.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpigotSubstitutionBenchmark {
+
+    private static final Pattern ARGS_PATTERN = Pattern.compile("\\$\\{(\\d+)\\}", Pattern.CASE_INSENSITIVE);
+    private static final String MESSAGE = "&aWelcome &e${0}&a, you have &6${1} &acoins and &b${2} &anew messages.";
+
+    private final String[] args = {"Notch", "1250", "3"};
+    private MessageTemplate template;
+
+    @Setup
+    public void setup() {
+        template = MessageTemplate.compile(MESSAGE, ARGS_PATTERN);
+    }
+
+    @Benchmark
+    public String template() {
+        return template.render(args, null, true);
+    }
+
+    @Benchmark
+    public String regex() {
+        Matcher matcher = ARGS_PATTERN.matcher(MESSAGE);
+        StringBuilder builder = new StringBuilder(MESSAGE.length() + 16);
+        while (matcher.find()) {
+            int index = Integer.parseInt(matcher.group(1));
+            matcher.appendReplacement(builder, Matcher.quoteReplacement(index < args.length ? args[index] : matcher.group()));
+        }
+        matcher.appendTail(builder);
+        return ChatColor.translateAlternateColorCodes('&', builder.toString());
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.github.thesilentpro.localization.bukkit;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Runs an action once the plugin disables, e.g. to release the resources of a localization instance.
+ * <p>
+ * Listeners can only be registered by enabled plugins. Instances created earlier (e.g. in the constructor or {@code onLoad})
+ * have to run the action from {@code onDisable} instead.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class DisableListener implements Listener {
+
+    private final Plugin plugin;
+    private final Runnable action;
+
+    /**
+     * Creates and registers a new listener, if the plugin is enabled.
+     *
+     * @param plugin The plugin.
+     * @param action The action to run once the plugin disables.
+     */
+    public DisableListener(@NotNull Plugin plugin, @NotNull Runnable action) {
+        this.plugin = plugin;
+        this.action = action;
+        if (plugin.isEnabled()) {
+            Bukkit.getPluginManager().registerEvents(this, plugin);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDisable(PluginDisableEvent event) {
+        if (event.getPlugin() == plugin) {
+            action.run();
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.github.thesilentpro.localization.bukkit;
+
+import com.github.thesilentpro.localization.api.placeholder.PlaceholderResolver;
+import me.clip.placeholderapi.PlaceholderAPI;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link PlaceholderResolver} backed by PlaceholderAPI.
+ * The presence of PlaceholderAPI is tracked through plugin enable/disable events instead of being looked up for every message.
+ * Shared by the paper and spigot platforms.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class PlaceholderAPIResolver implements PlaceholderResolver<UUID>, Listener {
+
+    private static final String PLUGIN_NAME = "PlaceholderAPI";
+
+    private final boolean tracking;
+    private volatile boolean available;
+
+    /**
+     * Creates a new resolver.
+     * If the plugin is not enabled yet, events can not be registered and the presence is looked up on every call instead.
+     *
+     * @param plugin The plugin used to register the listener.
+     */
+    public PlaceholderAPIResolver(@NotNull Plugin plugin) {
+        this.available = Bukkit.getPluginManager().isPluginEnabled(PLUGIN_NAME);
+        this.tracking = plugin.isEnabled();
+        if (tracking) {
+            Bukkit.getPluginManager().registerEvents(this, plugin);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginEnable(PluginEnableEvent event) {
+        if (PLUGIN_NAME.equals(event.getPlugin().getName())) {
+            this.available = true;
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (PLUGIN_NAME.equals(event.getPlugin().getName())) {
+            this.available = false;
+        }
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return tracking ? available : Bukkit.getPluginManager().isPluginEnabled(PLUGIN_NAME);
+    }
+
+    @Override
+    public @NotNull String resolve(@Nullable UUID receiver, @NotNull String text) {
+        return PlaceholderAPI.setPlaceholders(receiver != null ? Bukkit.getOfflinePlayer(receiver) : null, text); // null is for console
+    }
+
+    /**
+     * Looks up the player once, instead of once for every placeholder.
+     */
+    @Override
+    public @NotNull UnaryOperator<String> bind(@Nullable UUID receiver) {
+        OfflinePlayer player = receiver != null ? Bukkit.getOfflinePlayer(receiver) : null; // null is for console
+        return text -> PlaceholderAPI.setPlaceholders(player, text);
+    }
+
+}
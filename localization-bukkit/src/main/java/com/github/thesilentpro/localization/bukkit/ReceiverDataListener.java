@@ -0,0 +1,117 @@
+package com.github.thesilentpro.localization.bukkit;
+
+import com.github.thesilentpro.localization.api.Localization;
+import com.github.thesilentpro.localization.api.loader.LazyReceiverDataLoader;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Loads a player's language while logging in and evicts it after quitting,
+ * for use with a {@link LazyReceiverDataLoader}.
+ * <p>
+ * Loading happens on the asynchronous pre-login thread, so the language is in memory before the player joins.
+ * Every login starts a new session, a quit or a login denied after the pre-login only evicts the receiver if no later login started in the meantime.
+ * Eviction and write-back happen on the asynchronous executor passed in by the platform.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class ReceiverDataListener implements Listener {
+
+    private final Localization<?, ?, UUID> localization;
+    private final Consumer<Runnable> async;
+    private final Map<UUID, Integer> sessions = new ConcurrentHashMap<>(); // Player, Login count
+
+    /**
+     * Creates and registers a new listener.
+     *
+     * @param plugin The plugin used to register the listener.
+     * @param localization The localization to load receivers into.
+     * @param async Runs a task off the main thread, e.g. on the scheduler of the platform.
+     */
+    public ReceiverDataListener(@NotNull Plugin plugin, @NotNull Localization<?, ?, UUID> localization, @NotNull Consumer<Runnable> async) {
+        this.localization = localization;
+        this.async = async;
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Creates and registers a new listener, evicting receivers on the asynchronous tasks of the bukkit scheduler.
+     *
+     * @param plugin The plugin used to register the listener.
+     * @param localization The localization to load receivers into.
+     */
+    public ReceiverDataListener(@NotNull Plugin plugin, @NotNull Localization<?, ?, UUID> localization) {
+        this(plugin, localization, task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        // Waits for an eviction of the previous session that is still writing back
+        sessions.merge(event.getUniqueId(), 1, Integer::sum);
+        try {
+            localization.loadReceiver(event.getUniqueId());
+        } catch (RuntimeException ex) {
+            //noinspection CallToPrintStackTrace
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Releases the session started by the pre-login if the login is denied afterward (e.g. whitelist, bans or a full server),
+     * since the player never joins and therefore never quits.
+     */
+    @SuppressWarnings("deprecation") // Still fired on all supported versions
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            release(event.getPlayer().getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        release(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * End the current session of a player, evicting the receiver unless a later login started in the meantime.
+     */
+    private void release(UUID uuid) {
+        Integer session = sessions.get(uuid);
+        if (session == null) {
+            return; // Not loaded by this listener
+        }
+        async.accept(() -> {
+            // Atomic with respect to the next login, which either happens before and keeps the receiver, or waits and loads it again
+            sessions.compute(uuid, (player, current) -> {
+                if (!Objects.equals(current, session)) {
+                    return current; // Logged in again in the meantime
+                }
+                try {
+                    localization.unloadReceiver(uuid);
+                } catch (RuntimeException ex) {
+                    //noinspection CallToPrintStackTrace
+                    ex.printStackTrace();
+                }
+                return null;
+            });
+        });
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.github.thesilentpro.localization.fileloader;
+
+import com.github.thesilentpro.localization.api.Language;
+import com.github.thesilentpro.localization.api.loader.LanguageLoader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * A {@link LanguageLoader} which caches the parsed language files of a {@link LanguageFileLoader} in a binary {@link LanguageBundle}.
+ * <p>
+ * On load, the language files are hashed. If the bundle was built from the same files, it is memory-mapped and no file is parsed.
+ * Otherwise, the files are parsed by the source loader and the bundle is rebuilt.
+ * <p>
+ * A matching bundle only saves reading and parsing the language files (e.g. YAML). It is decoded eagerly into raw values,
+ * and every value is still mapped through {@link LanguageFileLoader#mapObject(Object)} on every load,
+ * e.g. deserialized from MiniMessage on paper.
+ * The source loader must be a {@link RawLanguageFileLoader}, otherwise loading is delegated to it unchanged.
+ * Loading is also delegated if a raw value can not be stored in a bundle (e.g. a list), which is reported once per load.
+ *
+ * @param <T> Message type
+ * @author TheSilentPro (Silent)
+ */
+public class BundleLanguageLoader<T> implements LanguageLoader<T> {
+
+    private final LanguageFileLoader<T> source;
+    private final File bundle;
+
+    /**
+     * Creates a new loader, keeping the bundle in the container of the source loader.
+     *
+     * @param source The loader used to parse the language files.
+     */
+    public BundleLanguageLoader(LanguageFileLoader<T> source) {
+        this(source, new File(source.getContainer(), ".languages.bundle"));
+    }
+
+    /**
+     * Creates a new loader.
+     *
+     * @param source The loader used to parse the language files.
+     * @param bundle The bundle file, e.g. one built at package time.
+     */
+    public BundleLanguageLoader(LanguageFileLoader<T> source, File bundle) {
+        this.source = source;
+        this.bundle = bundle;
+    }
+
+    @Override
+    public Map<String, Language<T>> load() throws IOException {
+        return reload(Collections.emptyMap());
+    }
+
+    /**
+     * Load all languages. If a file fails to parse, the whole reload fails and the current languages are kept,
+     * unless loading is delegated to the source loader, which keeps the current version of that language only.
+     */
+    @Override
+    public Map<String, Language<T>> reload(Map<String, Language<T>> current) throws IOException {
+        source.createDefaults();
+        List<File> files = files();
+        byte[] hash = hash(files);
+
+        if (bundle.exists() && Arrays.equals(hash, LanguageBundle.readHash(bundle))) {
+            try {
+                return source.mapLanguages(LanguageBundle.read(bundle).languages());
+            } catch (IOException ex) {
+                // Corrupt bundle, rebuild it below
+                //noinspection CallToPrintStackTrace
+                ex.printStackTrace();
+            }
+        }
+
+        if (!(source instanceof RawLanguageFileLoader rawLoader)) {
+            return source.reload(current);
+        }
+        Map<String, Map<String, Object>> raw = loadRaw(rawLoader, files);
+
+        String unsupported = findUnsupported(raw);
+        if (unsupported == null) {
+            new LanguageBundle(hash, raw).write(bundle);
+        } else {
+            System.err.println("Language bundle " + bundle.getName() + " was not written, " + unsupported + " can not be stored in a bundle.");
+        }
+        return source.mapLanguages(raw);
+    }
+
+    /**
+     * Find a raw value which can not be stored in a bundle.
+     *
+     * @return A description of the first unsupported value, or null if all are supported.
+     */
+    private static String findUnsupported(Map<String, Map<String, Object>> raw) {
+        for (Map.Entry<String, Map<String, Object>> language : raw.entrySet()) {
+            for (Map.Entry<String, Object> message : language.getValue().entrySet()) {
+                if (!LanguageBundle.isSupported(message.getValue())) {
+                    Object value = message.getValue();
+                    return "the value of " + message.getKey() + " in " + language.getKey() + " (" + (value != null ? value.getClass().getSimpleName() : "null") + ")";
+                }
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Map<String, Object>> loadRaw(RawLanguageFileLoader loader, List<File> files) throws IOException {
+        Map<String, Map<String, Object>> raw = new HashMap<>();
+        for (File file : files) {
+            loader.loadRaw(file).ifPresent(messages -> raw.put(source.resolveLanguageName(file.getName()), messages));
+        }
+        return raw;
+    }
+
+    /**
+     * Parse the language files and (re)build the bundle, e.g. at package time.
+     *
+     * @throws IOException If a file could not be read or the bundle could not be written.
+     * @throws IllegalStateException If the source loader is not a {@link RawLanguageFileLoader}, or a value can not be stored in a bundle.
+     */
+    public void build() throws IOException {
+        if (!(source instanceof RawLanguageFileLoader rawLoader)) {
+            throw new IllegalStateException(source.getClass().getSimpleName() + " does not support raw loading!");
+        }
+        List<File> files = files();
+        Map<String, Map<String, Object>> raw = loadRaw(rawLoader, files);
+        String unsupported = findUnsupported(raw);
+        if (unsupported != null) {
+            throw new IllegalStateException("Can not build the bundle, " + unsupported + " can not be stored in a bundle!");
+        }
+        new LanguageBundle(hash(files), raw).write(bundle);
+    }
+
+    private List<File> files() {
+        File[] files = source.getContainer().listFiles();
+        if (files == null) {
+            throw new NullPointerException("Files list is null! Ensure that the container is a directory.");
+        }
+        return Arrays.stream(files)
+                .filter(source::isValid)
+                .sorted(Comparator.comparing(File::getName))
+                .toList();
+    }
+
+    private static byte[] hash(List<File> files) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new RuntimeException(ex);
+        }
+
+        byte[] buffer = new byte[8192];
+        for (File file : files) {
+            digest.update(file.getName().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            try (InputStream in = new DigestInputStream(new FileInputStream(file), digest)) {
+                //noinspection StatementWithEmptyBody
+                while (in.read(buffer) != -1) {
+                }
+            }
+        }
+        return digest.digest();
+    }
+
+    public LanguageFileLoader<T> getSource() {
+        return source;
+    }
+
+    public File getBundle() {
+        return bundle;
+    }
+
+}
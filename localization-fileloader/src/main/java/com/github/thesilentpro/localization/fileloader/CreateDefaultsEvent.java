@@ -0,0 +1,35 @@
+package com.github.thesilentpro.localization.fileloader;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for {@link LanguageFileLoader#createDefaults()}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@Name("com.github.thesilentpro.localization.CreateDefaults")
+@Label("Create Default Language Files")
+@Category("Localization")
+@Description("Default language files copied or merged into the container")
+final class CreateDefaultsEvent extends Event {
+
+    @Label("Container")
+    String container;
+
+    @Label("Manifest")
+    @Description("Whether a defaults manifest was used instead of walking the jar")
+    boolean manifest;
+
+    @Label("Copied")
+    @Description("Number of missing files copied")
+    int copied;
+
+    @Label("Merged")
+    @Description("Number of changed files merged into existing ones")
+    int merged;
+
+}
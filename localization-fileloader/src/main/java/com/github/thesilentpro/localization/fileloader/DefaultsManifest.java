@@ -0,0 +1,130 @@
+package com.github.thesilentpro.localization.fileloader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Manifest of default language files and their SHA-256 content hashes.
+ * <p>
+ * Built into the jar next to the default files (see {@link #main(String[])}) and copied to the container once the defaults were created,
+ * so {@link LanguageFileLoader#createDefaults()} only has to compare both manifests instead of walking the jar.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class DefaultsManifest {
+
+    /**
+     * The file name of the manifest, both inside the resources folder and the container.
+     */
+    public static final String FILE_NAME = "localization.manifest";
+
+    private DefaultsManifest() {
+    }
+
+    /**
+     * Read a manifest.
+     *
+     * @param in The manifest content.
+     * @return The hashes. Format: File name, Hash
+     */
+    public static Map<String, String> read(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        Map<String, String> result = new TreeMap<>();
+        for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+            result.put(entry.getKey().toString(), entry.getValue().toString());
+        }
+        return result;
+    }
+
+    public static Map<String, String> read(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Write a manifest to a temporary file and atomically move it in place.
+     *
+     * @param file The manifest file.
+     * @param hashes The hashes. Format: File name, Hash
+     */
+    public static void write(File file, Map<String, String> hashes) throws IOException {
+        Properties properties = new Properties();
+        properties.putAll(hashes);
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            properties.store(writer, "Generated, do not edit");
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Hash a stream.
+     *
+     * @param in The content.
+     * @return The hex encoded SHA-256 hash.
+     */
+    public static String hash(InputStream in) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new RuntimeException(ex);
+        }
+
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Build the manifest of all files in a directory.
+     *
+     * @param directory The directory containing the default language files.
+     * @return The hashes. Format: File name, Hash
+     */
+    public static Map<String, String> build(File directory) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            throw new IllegalArgumentException("Not a directory: " + directory);
+        }
+
+        Map<String, String> hashes = new TreeMap<>();
+        for (File file : files) {
+            if (file.isFile() && !file.getName().equals(FILE_NAME)) {
+                try (InputStream in = new FileInputStream(file)) {
+                    hashes.put(file.getName(), hash(in));
+                }
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Generate the manifest of a resources folder at package time, e.g. through the exec-maven-plugin.
+     *
+     * @param args The resources folder containing the default language files, e.g. {@code target/classes/lang}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: DefaultsManifest <resources folder>");
+        }
+        File directory = new File(args[0]);
+        write(new File(directory, FILE_NAME), build(directory));
+    }
+
+}
@@ -1,21 +1,34 @@
 package com.github.thesilentpro.localization.fileloader;
 
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.Strictness;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.github.thesilentpro.localization.api.Language;
 
+import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.lang.reflect.Type;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
 /**
  * @author TheSilentPro (Silent)
  */
-public class JsonLanguageFileLoader<T> extends LanguageFileLoader<T> {
+public class JsonLanguageFileLoader<T> extends LanguageFileLoader<T> implements RawLanguageFileLoader {
 
     private Gson gson;
 
@@ -30,28 +43,123 @@ public class JsonLanguageFileLoader<T> extends LanguageFileLoader<T> {
 
     @Override
     public Optional<Language<T>> load(File file) throws IOException {
+        return loadRaw(file).map(raw -> new Language<>(resolveLanguageName(file.getName()), mapMessages(raw)));
+    }
+
+    /**
+     * Parse a file through a {@link JsonReader}, writing straight into the flattened table without building the document tree.
+     * Values that are not objects (e.g. arrays) are read through the {@link Gson} instance, honoring its configuration.
+     */
+    @Override
+    public Optional<Map<String, Object>> loadRaw(File file) throws IOException {
         if (file == null || !file.exists()) {
             throw new IllegalArgumentException("File is null or does not exist");
         }
-        if (this.gson == null) {
-            this.gson = new Gson();
+        // Gson instances are thread-safe, so one instance is shared even when loading in parallel.
+        Gson gson = getOrCreateGson();
+        try (JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)))) {
+            reader.setStrictness(Strictness.LENIENT); // Same as Gson#fromJson
+            JsonToken token;
+            try {
+                token = reader.peek();
+            } catch (EOFException ex) {
+                return Optional.empty(); // Empty document
+            }
+            if (token == JsonToken.NULL) {
+                return Optional.empty();
+            }
+            if (token != JsonToken.BEGIN_OBJECT) {
+                throw new JsonSyntaxException("Expected an object but was " + token + " in " + file.getName());
+            }
+
+            Map<String, Object> flattenedMessages = new HashMap<>();
+            parseObject(reader, new StringBuilder(64), flattenedMessages, gson.getAdapter(Object.class));
+            return Optional.of(flattenedMessages);
         }
-        try (FileReader reader = new FileReader(file)) {
-            Type mapType = new TypeToken<Map<String, Object>>(){}.getType();
-            Map<String, Object> loadedMessages = gson.fromJson(reader, mapType);
+    }
 
-            if (loadedMessages != null) {
-                Map<String, T> flattenedMessages = new HashMap<>();
-                flattenMessages(loadedMessages, "", flattenedMessages);
+    /**
+     * Flatten an object. The key prefix buffer is shared by all levels and restored after every entry.
+     */
+    private void parseObject(JsonReader reader, StringBuilder prefix, Map<String, Object> flattened, TypeAdapter<Object> values) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            int length = prefix.length();
+            if (length > 0) {
+                prefix.append('.');
+            }
+            prefix.append(reader.nextName());
 
-                return Optional.of(new Language<>(resolveLanguageName(file.getName()), flattenedMessages));
-            } else {
-                return Optional.empty();
+            switch (reader.peek()) {
+                case BEGIN_OBJECT -> parseObject(reader, prefix, flattened, values);
+                case STRING -> flattened.put(intern(prefix.toString()), intern(reader.nextString()));
+                default -> flattened.put(intern(prefix.toString()), values.read(reader));
             }
+            prefix.setLength(length);
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Add keys missing from the file, appended to the end of the root object. Existing values are kept as written,
+     * numbers included. Keys missing from an existing object are added with their full dotted key (e.g. {@code "a.b": "value"}),
+     * which is flattened to the same key when loading.
+     */
+    @Override
+    protected void mergeDefaults(InputStream defaults, File file) throws IOException {
+        JsonElement source = JsonParser.parseReader(new InputStreamReader(defaults, StandardCharsets.UTF_8));
+        if (!source.isJsonObject()) {
+            return;
+        }
+        JsonElement target;
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            target = JsonParser.parseReader(reader);
+        }
+        if (!target.isJsonObject()) {
+            target = new JsonObject(); // Empty document
+        }
+
+        Map<String, Object> missing = missingDefaults(sections(target.getAsJsonObject()), sections(source.getAsJsonObject()));
+        if (missing.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, Object> entry : missing.entrySet()) {
+            target.getAsJsonObject().add(entry.getKey(), element(entry.getValue()));
+        }
+        Gson printer = getOrCreateGson().newBuilder().setPrettyPrinting().serializeNulls().disableHtmlEscaping().create();
+        writeAtomically(file, printer.toJson(target));
+    }
+
+    /**
+     * View an object as nested maps, keeping all other values as they are.
+     */
+    private static Map<String, Object> sections(JsonObject object) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            map.put(entry.getKey(), entry.getValue().isJsonObject() ? sections(entry.getValue().getAsJsonObject()) : entry.getValue());
+        }
+        return map;
+    }
+
+    private static JsonElement element(Object value) {
+        if (!(value instanceof Map<?, ?> map)) {
+            return (JsonElement) value;
+        }
+        JsonObject object = new JsonObject();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            object.add((String) entry.getKey(), element(entry.getValue()));
+        }
+        return object;
+    }
+
+    private synchronized Gson getOrCreateGson() {
+        if (this.gson == null) {
+            this.gson = new Gson();
         }
+        return this.gson;
     }
 
-    public void setGson(Gson gson) {
+    public synchronized void setGson(Gson gson) {
         this.gson = gson;
     }
 
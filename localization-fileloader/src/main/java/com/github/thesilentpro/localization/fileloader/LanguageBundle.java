@@ -0,0 +1,210 @@
+package com.github.thesilentpro.localization.fileloader;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A precompiled, binary bundle of flattened raw language data.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int magic, int version, byte[32] source hash
+ * int poolSize,  poolSize  x (int length, UTF-8 bytes)   - string pool, shared by keys, language ids and string values
+ * int keyCount,  keyCount  x int pool index              - flattened key table
+ * int langCount, langCount x (int pool index of the id, keyCount x value)
+ * value: byte type, followed by a pool index (string), byte (boolean), int, long or double
+ * </pre>
+ * Every language has one value slot per key of the key table, missing keys are stored as {@link #ABSENT}.
+ * The mapped file is decoded as a whole by {@link #read(File)}, values are not decoded lazily.
+ *
+ * @param hash The hash of the source files the bundle was built from.
+ * @param languages The raw messages per language id.
+ * @author TheSilentPro (Silent)
+ */
+public record LanguageBundle(byte[] hash, Map<String, Map<String, Object>> languages) {
+
+    private static final int MAGIC = 0x4C4E4742; // LNGB
+    private static final int VERSION = 1;
+    private static final int HASH_LENGTH = 32;
+
+    private static final byte ABSENT = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+
+    /**
+     * Check whether a raw value can be stored in a bundle.
+     *
+     * @param value The raw value.
+     * @return True if supported.
+     */
+    public static boolean isSupported(Object value) {
+        return value instanceof String || value instanceof Boolean || value instanceof Integer || value instanceof Long || value instanceof Double;
+    }
+
+    /**
+     * Read the hash of a bundle without reading its data.
+     *
+     * @param file The bundle file.
+     * @return The hash, or null if the file is not a valid bundle.
+     */
+    public static byte[] readHash(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            byte[] hash = new byte[HASH_LENGTH];
+            in.readFully(hash);
+            return hash;
+        } catch (EOFException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Memory-map and read a bundle.
+     *
+     * @param file The bundle file.
+     * @return The bundle.
+     * @throws IOException If the file could not be read or is not a valid bundle.
+     */
+    public static LanguageBundle read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not a language bundle: " + file.getName());
+            }
+
+            byte[] hash = new byte[HASH_LENGTH];
+            buffer.get(hash);
+
+            String[] pool = new String[buffer.getInt()];
+            for (int i = 0; i < pool.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                pool[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            String[] keys = new String[buffer.getInt()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = pool[buffer.getInt()];
+            }
+
+            int count = buffer.getInt();
+            Map<String, Map<String, Object>> languages = new HashMap<>(count * 4 / 3 + 1);
+            for (int l = 0; l < count; l++) {
+                String id = pool[buffer.getInt()];
+                Map<String, Object> messages = new HashMap<>(keys.length * 4 / 3 + 1);
+                for (String key : keys) {
+                    byte type = buffer.get();
+                    Object value = switch (type) {
+                        case ABSENT -> null;
+                        case STRING -> pool[buffer.getInt()];
+                        case BOOLEAN -> buffer.get() != 0;
+                        case INTEGER -> buffer.getInt();
+                        case LONG -> buffer.getLong();
+                        case DOUBLE -> buffer.getDouble();
+                        default -> throw new IOException("Corrupt language bundle: " + file.getName());
+                    };
+                    if (value != null) {
+                        messages.put(key, value);
+                    }
+                }
+                languages.put(id, messages);
+            }
+
+            return new LanguageBundle(hash, languages);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new IOException("Corrupt language bundle: " + file.getName(), ex);
+        }
+    }
+
+    /**
+     * Write the bundle to a temporary file and atomically move it in place.
+     *
+     * @param file The bundle file.
+     * @throws IOException If the bundle could not be written.
+     * @throws IllegalArgumentException If a value is not {@link #isSupported(Object) supported}.
+     */
+    public void write(File file) throws IOException {
+        Map<String, Integer> pool = new LinkedHashMap<>();
+        Map<String, Integer> keys = new LinkedHashMap<>();
+        for (Map<String, Object> messages : languages.values()) {
+            for (String key : messages.keySet()) {
+                keys.computeIfAbsent(key, k -> keys.size());
+            }
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeInt(keys.size());
+        for (String key : keys.keySet()) {
+            out.writeInt(intern(pool, key));
+        }
+
+        out.writeInt(languages.size());
+        for (Map.Entry<String, Map<String, Object>> language : languages.entrySet()) {
+            out.writeInt(intern(pool, language.getKey()));
+            Map<String, Object> messages = language.getValue();
+            for (String key : keys.keySet()) {
+                switch (messages.get(key)) {
+                    case null -> out.writeByte(ABSENT);
+                    case String str -> {
+                        out.writeByte(STRING);
+                        out.writeInt(intern(pool, str));
+                    }
+                    case Boolean b -> {
+                        out.writeByte(BOOLEAN);
+                        out.writeBoolean(b);
+                    }
+                    case Integer n -> {
+                        out.writeByte(INTEGER);
+                        out.writeInt(n);
+                    }
+                    case Long n -> {
+                        out.writeByte(LONG);
+                        out.writeLong(n);
+                    }
+                    case Double n -> {
+                        out.writeByte(DOUBLE);
+                        out.writeDouble(n);
+                    }
+                    default -> throw new IllegalArgumentException("Unsupported value for key " + key + ": " + messages.get(key));
+                }
+            }
+        }
+        out.flush();
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream stream = new FileOutputStream(temp);
+             DataOutputStream header = new DataOutputStream(new BufferedOutputStream(stream))) {
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            header.write(hash, 0, HASH_LENGTH);
+            header.writeInt(pool.size());
+            for (String str : pool.keySet()) {
+                byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+                header.writeInt(bytes.length);
+                header.write(bytes);
+            }
+            body.writeTo(header);
+            header.flush();
+            stream.getFD().sync();
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static int intern(Map<String, Integer> pool, String str) {
+        return pool.computeIfAbsent(str, s -> pool.size());
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.github.thesilentpro.localization.fileloader;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for parsing a single language file through {@link LanguageFileLoader}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@Name("com.github.thesilentpro.localization.LanguageFileLoad")
+@Label("Language File Load")
+@Category("Localization")
+@Description("A language file parsed and mapped")
+final class LanguageFileLoadEvent extends Event {
+
+    @Label("File")
+    String file;
+
+    @Label("Language")
+    String language;
+
+    @Label("Keys")
+    int keys;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Failed")
+    boolean failed;
+
+}
@@ -1,30 +1,64 @@
 package com.github.thesilentpro.localization.fileloader;
 
 import com.github.thesilentpro.localization.api.Language;
-import com.github.thesilentpro.localization.api.loader.LanguageLoader;
+import com.github.thesilentpro.localization.api.Localization;
+import com.github.thesilentpro.localization.api.loader.LazyLanguageLoader;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * @author TheSilentPro (Silent)
  */
-public abstract class LanguageFileLoader<T> implements LanguageLoader<T> {
+public abstract class LanguageFileLoader<T> implements LazyLanguageLoader<T> {
 
     private final Class<?> clazzLoader;
     private final String resourcesPath;
     private final File container;
 
+    private volatile Executor executor;
+    private volatile boolean virtualThreads;
+    private volatile LoadReport lastReport;
+    private volatile boolean deduplicate = true;
+    private volatile Map<String, File> index = Collections.emptyMap(); // Lang ID, File (lazy loading)
+
+    // Shared by all files of a single load, cleared afterwards.
+    private final Pools<T> pools = new Pools<>();
+    // Set while a single language is loaded, lazy loads may run concurrently with each other and with a full load.
+    private final ThreadLocal<Pools<T>> singlePools = new ThreadLocal<>();
+
     public LanguageFileLoader(Class<?> clazzLoader, String resourcesPath, File container) {
         this.clazzLoader = clazzLoader;
         this.resourcesPath = resourcesPath;
@@ -35,23 +69,157 @@ public abstract class LanguageFileLoader<T> implements LanguageLoader<T> {
 
     @Override
     public Map<String, Language<T>> load() throws IOException {
+        return reload(Collections.emptyMap());
+    }
+
+    /**
+     * Load all language files, keeping the current version of every language whose file failed to load.
+     * The failures are still reported in {@link #getLastReport()}.
+     */
+    @Override
+    public Map<String, Language<T>> reload(Map<String, Language<T>> current) throws IOException {
+        try {
+            return loadAll(current);
+        } finally {
+            clearPools();
+        }
+    }
+
+    /**
+     * Create the default files and index the language files in the container without parsing them.
+     */
+    @Override
+    public Set<String> index() {
+        createDefaults();
+
+        Map<String, File> index = new HashMap<>();
+        for (File file : validFiles()) {
+            index.put(resolveLanguageName(file.getName()), file);
+        }
+        this.index = index;
+        return index.keySet();
+    }
+
+    /**
+     * Parse a single language file, as indexed by {@link #index()}.
+     */
+    @Override
+    public Optional<Language<T>> load(String language) throws IOException {
+        File file = this.index.get(language);
+        if (file == null || !file.exists()) {
+            return Optional.empty();
+        }
+
+        LanguageFileLoadEvent event = new LanguageFileLoadEvent();
+        event.begin();
+        Optional<Language<T>> loaded = Optional.empty();
+        singlePools.set(new Pools<>());
+        try {
+            loaded = load(file);
+            return loaded;
+        } finally {
+            singlePools.remove();
+            commit(event, file, loaded.orElse(null));
+        }
+    }
+
+    private Map<String, Language<T>> loadAll(Map<String, Language<T>> current) throws IOException {
+        long start = System.nanoTime();
+        clearPools();
         createDefaults();
 
+        List<File> valid = validFiles();
+        List<Parsed<T>> parsed;
+        if (virtualThreads) {
+            try (ExecutorService virtualExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+                parsed = parseAll(valid, virtualExecutor);
+            }
+        } else {
+            parsed = parseAll(valid, executor);
+        }
+
+        Map<String, Language<T>> result = new HashMap<>();
+        List<LoadReport.Entry> entries = new ArrayList<>(parsed.size());
+        for (Parsed<T> entry : parsed) {
+            entries.add(entry.report());
+            String id = resolveLanguageName(entry.report().file());
+            if (entry.language() != null) {
+                result.put(id, entry.language());
+            } else {
+                Language<T> previous = current.get(id);
+                if (previous != null) {
+                    result.put(id, previous);
+                }
+                //noinspection CallToPrintStackTrace
+                entry.report().failure().printStackTrace();
+            }
+        }
+
+        this.lastReport = new LoadReport(entries, System.nanoTime() - start);
+        return result;
+    }
+
+    private List<File> validFiles() {
         File[] files = container.listFiles();
         if (files == null) {
             throw new NullPointerException("Files list is null! Ensure that the container is a directory.");
         }
 
-        Map<String, Language<T>> result = new HashMap<>();
-        for (File file : files) {
-            if (!isValid(file)) {
-                continue;
+        // Sorted, so the result is deterministic regardless of the order in which parallel tasks complete.
+        return Arrays.stream(files)
+                .filter(file -> !file.getName().equals(DefaultsManifest.FILE_NAME) && isValid(file))
+                .sorted(Comparator.comparing(File::getName))
+                .toList();
+    }
+
+    private List<Parsed<T>> parseAll(List<File> files, Executor executor) {
+        List<Parsed<T>> parsed = new ArrayList<>(files.size());
+        if (executor == null) {
+            for (File file : files) {
+                parsed.add(parse(file));
             }
+            return parsed;
+        }
 
-            result.put(resolveLanguageName(file.getName()), load(file).orElseThrow(() -> new RuntimeException("Failed to load language data for: " + file.getName())));
+        List<CompletableFuture<Parsed<T>>> futures = new ArrayList<>(files.size());
+        for (File file : files) {
+            futures.add(CompletableFuture.supplyAsync(() -> parse(file), executor));
+        }
+        for (CompletableFuture<Parsed<T>> future : futures) {
+            parsed.add(future.join());
         }
+        return parsed;
+    }
 
-        return result;
+    private Parsed<T> parse(File file) {
+        LanguageFileLoadEvent event = new LanguageFileLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            Language<T> language = load(file).orElseThrow(() -> new RuntimeException("Failed to load language data for: " + file.getName()));
+            commit(event, file, language);
+            return new Parsed<>(language, new LoadReport.Entry(file.getName(), language.getId(), language.getMessages().size(), System.nanoTime() - start, null));
+        } catch (IOException | RuntimeException ex) {
+            commit(event, file, null);
+            return new Parsed<>(null, new LoadReport.Entry(file.getName(), null, 0, System.nanoTime() - start, ex));
+        }
+    }
+
+    private static void commit(LanguageFileLoadEvent event, File file, Language<?> language) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.file = file.getName();
+            event.bytes = file.length();
+            event.failed = language == null;
+            if (language != null) {
+                event.language = language.getId();
+                event.keys = language.getMessages().size();
+            }
+            event.commit();
+        }
+    }
+
+    private record Parsed<T>(Language<T> language, LoadReport.Entry report) {
     }
 
     public boolean isValid(File file) {
@@ -68,7 +236,7 @@ public abstract class LanguageFileLoader<T> implements LanguageLoader<T> {
 
     protected void flattenMessages(Map<String, Object> currentMap, String parentKey, Map<String, T> flattenedMap) {
         for (Map.Entry<String, Object> entry : currentMap.entrySet()) {
-            String newKey = parentKey.isEmpty() ? entry.getKey() : parentKey + "." + entry.getKey();
+            String newKey = intern(parentKey.isEmpty() ? entry.getKey() : parentKey + "." + entry.getKey());
             Object value = entry.getValue();
 
             if (value instanceof Map) {
@@ -76,25 +244,264 @@ public abstract class LanguageFileLoader<T> implements LanguageLoader<T> {
                 Map<String, Object> nestedMap = (Map<String, Object>) value;
                 flattenMessages(nestedMap, newKey, flattenedMap);
             } else {
-                flattenedMap.put(newKey, mapObject(value));
+                flattenedMap.put(newKey, mapValue(value));
+            }
+        }
+    }
+
+    protected void flattenRaw(Map<String, Object> currentMap, String parentKey, Map<String, Object> flattenedMap) {
+        for (Map.Entry<String, Object> entry : currentMap.entrySet()) {
+            String newKey = intern(parentKey.isEmpty() ? entry.getKey() : parentKey + "." + entry.getKey());
+            Object value = entry.getValue();
+
+            if (value instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> nestedMap = (Map<String, Object>) value;
+                flattenRaw(nestedMap, newKey, flattenedMap);
+            } else {
+                flattenedMap.put(newKey, value instanceof String str ? intern(str) : value);
             }
         }
     }
 
     /**
-     * Create the default language files from your /resources folder.
+     * Map the raw messages of several languages, e.g. read from a {@link LanguageBundle}.
+     *
+     * @param raw The raw messages per language id.
+     * @return The languages.
      */
-    public void createDefaults() {
-        URL url = clazzLoader.getClassLoader().getResource(resourcesPath);
-        if (url == null) {
-            throw new NullPointerException("No resource!");
+    public Map<String, Language<T>> mapLanguages(Map<String, Map<String, Object>> raw) {
+        try {
+            Map<String, Language<T>> result = new HashMap<>(raw.size() * 4 / 3 + 1);
+            for (Map.Entry<String, Map<String, Object>> entry : raw.entrySet()) {
+                result.put(entry.getKey(), new Language<>(entry.getKey(), mapMessages(entry.getValue())));
+            }
+            return result;
+        } finally {
+            clearPools();
+        }
+    }
+
+    /**
+     * Map flattened raw values through {@link #mapObject(Object)}.
+     *
+     * @param raw The raw messages, as returned by {@link RawLanguageFileLoader#loadRaw(File)}.
+     * @return The mapped messages.
+     */
+    public Map<String, T> mapMessages(Map<String, Object> raw) {
+        Map<String, T> messages = new HashMap<>(raw.size() * 4 / 3 + 1);
+        for (Map.Entry<String, Object> entry : raw.entrySet()) {
+            messages.put(intern(entry.getKey()), mapValue(entry.getValue()));
         }
+        return messages;
+    }
+
+    /**
+     * Map a raw value, sharing one mapped instance between all identical raw values of the current load.
+     */
+    private T mapValue(Object raw) {
+        if (!deduplicate || raw == null) {
+            return mapObject(raw);
+        }
+        return pools().values.computeIfAbsent(raw instanceof String str ? intern(str) : raw, this::mapObject);
+    }
+
+    /**
+     * Retrieve the canonical instance of a string for the current load, so keys and values repeated
+     * across languages are stored once.
+     *
+     * @param str The string.
+     * @return The canonical instance.
+     */
+    protected String intern(String str) {
+        if (!deduplicate) {
+            return str;
+        }
+        String existing = pools().strings.putIfAbsent(str, str);
+        return existing != null ? existing : str;
+    }
+
+    /**
+     * Release the interning and deduplication pools. Called automatically after every load.
+     * Single languages loaded through {@link #load(String)} use their own pools, which are not affected.
+     */
+    public void clearPools() {
+        pools.strings.clear();
+        pools.values.clear();
+    }
 
+    private Pools<T> pools() {
+        Pools<T> single = singlePools.get();
+        return single != null ? single : pools;
+    }
+
+    private static final class Pools<T> {
+
+        private final Map<String, String> strings = new ConcurrentHashMap<>(); // String, Canonical instance
+        private final Map<Object, T> values = new ConcurrentHashMap<>(); // Raw value, Mapped value
+
+    }
+
+    /**
+     * Create the default language files from your /resources folder.
+     * <p>
+     * If the resources folder contains a {@link DefaultsManifest}, it is compared with the copy kept in the container
+     * and the jar is not walked at all. Only new or changed defaults are read: missing files are copied,
+     * existing files get missing keys merged in through {@link #mergeDefaults(InputStream, File)}, keeping all edited values.
+     */
+    public void createDefaults() {
+        CreateDefaultsEvent event = new CreateDefaultsEvent();
+        event.begin();
         if (!container.exists()) {
             //noinspection ResultOfMethodCallIgnored
             container.mkdir();
         }
 
+        try (InputStream in = clazzLoader.getClassLoader().getResourceAsStream(resourcesPath + "/" + DefaultsManifest.FILE_NAME)) {
+            if (in != null) {
+                event.manifest = true;
+                createDefaults(DefaultsManifest.read(in), event);
+            } else {
+                walkDefaults(event);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.container = container.getPath();
+            event.commit();
+        }
+    }
+
+    private void createDefaults(Map<String, String> bundled, CreateDefaultsEvent event) throws IOException {
+        File manifest = new File(container, DefaultsManifest.FILE_NAME);
+        Map<String, String> local = manifest.exists() ? DefaultsManifest.read(manifest) : Collections.emptyMap();
+        Map<String, String> recorded = new TreeMap<>(); // Only hashes of defaults that were applied, failed files are retried next time
+
+        for (Map.Entry<String, String> entry : bundled.entrySet()) {
+            File out = new File(container, entry.getKey());
+            String previous = local.get(entry.getKey());
+            if (!isValid(out)) {
+                if (previous != null) {
+                    recorded.put(entry.getKey(), previous); // Left to the loader of that format
+                }
+                continue;
+            }
+            if (out.exists() && entry.getValue().equals(previous)) {
+                recorded.put(entry.getKey(), previous);
+                continue; // Unchanged
+            }
+
+            try (InputStream in = clazzLoader.getClassLoader().getResourceAsStream(resourcesPath + "/" + entry.getKey())) {
+                if (in != null) {
+                    if (!out.exists()) {
+                        Files.copy(in, out.toPath());
+                        event.copied++;
+                    } else {
+                        mergeDefaults(in, out);
+                        event.merged++;
+                    }
+                }
+                recorded.put(entry.getKey(), entry.getValue());
+            } catch (IOException | RuntimeException ex) {
+                if (previous != null) {
+                    recorded.put(entry.getKey(), previous);
+                }
+                //noinspection CallToPrintStackTrace
+                ex.printStackTrace();
+            }
+        }
+
+        if (!recorded.equals(local)) {
+            DefaultsManifest.write(manifest, recorded);
+        }
+    }
+
+    /**
+     * Merge changed defaults into an existing language file.
+     * Implementations should only add keys that are missing from the file and never overwrite existing values.
+     * By default, the file is left untouched.
+     *
+     * @param defaults The new default file.
+     * @param file The existing file.
+     */
+    protected void mergeDefaults(InputStream defaults, File file) throws IOException {
+    }
+
+    /**
+     * Collect all entries of the defaults that are missing from the target, compared by their flattened keys.
+     * Keys written with dots (e.g. {@code a.b: value}) are therefore found just like nested ones. Existing values are never replaced,
+     * nor are sections of the target which are plain values in the defaults, or the other way around.
+     *
+     * @param target The existing document.
+     * @param defaults The default document.
+     * @return The missing entries in the order of the defaults. Format: Flattened key of the topmost missing section, Value
+     */
+    protected static Map<String, Object> missingDefaults(Map<?, ?> target, Map<?, ?> defaults) {
+        Set<String> values = new HashSet<>();
+        Set<String> sections = new HashSet<>();
+        collectKeys(target, "", values, sections);
+
+        Map<String, Object> missing = new LinkedHashMap<>();
+        collectMissing(defaults, "", values, sections, missing);
+        return missing;
+    }
+
+    private static void collectKeys(Map<?, ?> map, String parentKey, Set<String> values, Set<String> sections) {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            String key = parentKey.isEmpty() ? String.valueOf(entry.getKey()) : parentKey + "." + entry.getKey();
+            if (entry.getValue() instanceof Map<?, ?> nested) {
+                collectKeys(nested, key, values, sections);
+            } else {
+                values.add(key);
+            }
+            // Every prefix of a dotted key is a section as well
+            for (int dot = key.indexOf('.'); dot != -1; dot = key.indexOf('.', dot + 1)) {
+                sections.add(key.substring(0, dot));
+            }
+        }
+    }
+
+    private static void collectMissing(Map<?, ?> defaults, String parentKey, Set<String> values, Set<String> sections, Map<String, Object> missing) {
+        for (Map.Entry<?, ?> entry : defaults.entrySet()) {
+            String key = parentKey.isEmpty() ? String.valueOf(entry.getKey()) : parentKey + "." + entry.getKey();
+            if (values.contains(key)) {
+                continue;
+            }
+            if (!sections.contains(key)) {
+                missing.put(key, entry.getValue());
+            } else if (entry.getValue() instanceof Map<?, ?> nested) {
+                collectMissing(nested, key, values, sections, missing);
+            }
+        }
+    }
+
+    /**
+     * Write a file to a temporary file next to it and atomically move it in place,
+     * so the file is never left truncated or half written.
+     *
+     * @param file The file.
+     * @param content The new content.
+     */
+    protected static void writeAtomically(File file, String content) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream stream = new FileOutputStream(temp);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
+            writer.write(content);
+            writer.flush();
+            stream.getFD().sync();
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void walkDefaults(CreateDefaultsEvent event) {
+        URL url = clazzLoader.getClassLoader().getResource(resourcesPath);
+        if (url == null) {
+            throw new NullPointerException("No resource!");
+        }
+
         // This is required otherwise Files.walk will throw FileSystem Exception.
         try {
             String[] array = url.toURI().toString().split("!");
@@ -108,6 +515,7 @@ public abstract class LanguageFileLoader<T> implements LanguageLoader<T> {
                             // If file is not of YAML type or if it already exists, ignore it.
                             if (isValid(out) && !out.exists()) {
                                 Files.copy(path, out.toPath());
+                                event.copied++;
                             }
                         } catch (IOException ex) {
                             //noinspection CallToPrintStackTrace
@@ -121,6 +529,90 @@ public abstract class LanguageFileLoader<T> implements LanguageLoader<T> {
         }
     }
 
+    /**
+     * Opt-in watch mode: reload all languages of the localization whenever a language file in the container changes.
+     *
+     * @param localization The localization to reload.
+     * @param debounce How long no further changes must occur before reloading.
+     * @return The running watcher, close it to stop watching.
+     * @throws IOException If the container could not be watched.
+     */
+    public LanguageFileWatcher<T> watch(Localization<T, ?, ?> localization, Duration debounce) throws IOException {
+        LanguageFileWatcher<T> watcher = new LanguageFileWatcher<>(this, localization, debounce);
+        watcher.start();
+        return watcher;
+    }
+
+    /**
+     * Parse language files in parallel on the given executor.
+     * Files that fail to load are reported in {@link #getLastReport()} instead of aborting the whole load.
+     *
+     * @param executor The executor, or null to parse sequentially on the calling thread. (default)
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Parse language files in parallel, using one virtual thread per file.
+     * Takes precedence over {@link #setExecutor(Executor)}.
+     *
+     * @param virtualThreads Whether to use virtual threads.
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Whether language files are parsed in parallel, in which case {@link #load(File)} must not share parser instances.
+     *
+     * @return True if parsing in parallel.
+     */
+    public boolean isParallel() {
+        return virtualThreads || executor != null;
+    }
+
+    /**
+     * Whether the calling thread is loading a single language through {@link #load(String)}.
+     * Lazy loads of different languages may run concurrently, so {@link #load(File)} must not share parser instances either.
+     *
+     * @return True if loading a single language.
+     */
+    protected boolean isSingleLoad() {
+        return singlePools.get() != null;
+    }
+
+    /**
+     * Intern keys and raw values and share one mapped value between identical raw values across all languages of a load.
+     * Mapped values must be immutable (e.g. {@link String}s or components) when enabled.
+     *
+     * @param deduplicate Whether to deduplicate. Default: true
+     */
+    public void setDeduplicate(boolean deduplicate) {
+        this.deduplicate = deduplicate;
+    }
+
+    public boolean isDeduplicate() {
+        return deduplicate;
+    }
+
+    /**
+     * Retrieve the report of the last {@link #load()}, containing per-file timing and failures.
+     *
+     * @return The report, or null if nothing was loaded yet.
+     */
+    public LoadReport getLastReport() {
+        return lastReport;
+    }
+
     public File getContainer() {
         return container;
     }
@@ -0,0 +1,137 @@
+package com.github.thesilentpro.localization.fileloader;
+
+import com.github.thesilentpro.localization.api.Localization;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the container of a {@link LanguageFileLoader} and reloads all languages when a language file changes.
+ * <p>
+ * Bursts of changes are debounced, parsing happens on the watcher thread and the result is published through
+ * {@link Localization#reloadLanguages(com.github.thesilentpro.localization.api.loader.LanguageLoader)},
+ * so readers never block and never observe a partially reloaded state.
+ * If a reload fails, the previously loaded languages are kept. If only some files fail (e.g. a file saved halfway through editing),
+ * the previously loaded version of those languages is kept.
+ *
+ * @param <T> Message type
+ * @author TheSilentPro (Silent)
+ * @see LanguageFileLoader#watch(Localization, Duration)
+ */
+public class LanguageFileWatcher<T> implements Closeable {
+
+    private final LanguageFileLoader<T> loader;
+    private final Localization<T, ?, ?> localization;
+    private final long debounceMillis;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    public LanguageFileWatcher(LanguageFileLoader<T> loader, Localization<T, ?, ?> localization, Duration debounce) {
+        this.loader = loader;
+        this.localization = localization;
+        this.debounceMillis = debounce.toMillis();
+    }
+
+    /**
+     * Start watching the container.
+     *
+     * @throws IOException If the container could not be registered.
+     */
+    public synchronized void start() throws IOException {
+        if (this.thread != null) {
+            throw new IllegalStateException("Watcher is already running!");
+        }
+
+        Path container = loader.getContainer().toPath();
+        WatchService service = FileSystems.getDefault().newWatchService();
+        container.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+        this.watchService = service;
+        this.thread = new Thread(() -> run(service), "Localization-Watcher-" + container.getFileName());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void run(WatchService service) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                // Block until something relevant changes
+                if (!drain(service.take())) {
+                    continue;
+                }
+
+                // Debounce: wait until no relevant event arrived for the whole debounce window
+                WatchKey key;
+                while ((key = service.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    drain(key);
+                }
+
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // Closed
+        }
+    }
+
+    /**
+     * Drain the events of a key.
+     *
+     * @return True if any event affected a language file.
+     */
+    private boolean drain(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                relevant = true;
+                continue;
+            }
+
+            Path path = (Path) event.context();
+            if (loader.isValid(new File(loader.getContainer(), path.toString()))) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    private void reload() {
+        try {
+            localization.reloadLanguages(loader);
+        } catch (IOException | RuntimeException ex) {
+            //noinspection CallToPrintStackTrace
+            ex.printStackTrace();
+        }
+    }
+
+    public boolean isRunning() {
+        return thread != null && thread.isAlive();
+    }
+
+    /**
+     * Stop watching the container.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+}
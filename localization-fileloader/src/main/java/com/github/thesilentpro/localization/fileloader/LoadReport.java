@@ -0,0 +1,48 @@
+package com.github.thesilentpro.localization.fileloader;
+
+import java.util.List;
+
+/**
+ * Report of a single {@link LanguageFileLoader#load()} call, containing timing and failures for every language file.
+ *
+ * @param entries One entry per language file, ordered by file name.
+ * @param nanos Total duration of the load, including creating defaults.
+ * @author TheSilentPro (Silent)
+ */
+public record LoadReport(List<Entry> entries, long nanos) {
+
+    public LoadReport {
+        entries = List.copyOf(entries);
+    }
+
+    /**
+     * Retrieve the entries of all files that failed to load.
+     *
+     * @return The failed entries.
+     */
+    public List<Entry> failures() {
+        return entries.stream().filter(Entry::failed).toList();
+    }
+
+    public boolean hasFailures() {
+        return entries.stream().anyMatch(Entry::failed);
+    }
+
+    /**
+     * Result of loading a single language file.
+     *
+     * @param file The file name.
+     * @param language The language id, or null if loading failed.
+     * @param keys Number of messages loaded.
+     * @param nanos Time spent parsing the file.
+     * @param failure The failure, or null if loading succeeded.
+     */
+    public record Entry(String file, String language, int keys, long nanos, Throwable failure) {
+
+        public boolean failed() {
+            return failure != null;
+        }
+
+    }
+
+}
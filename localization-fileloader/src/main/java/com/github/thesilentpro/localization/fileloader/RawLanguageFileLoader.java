@@ -0,0 +1,25 @@
+package com.github.thesilentpro.localization.fileloader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A {@link LanguageFileLoader} that can parse files into their flattened keys and raw values, before they are mapped through
+ * {@link LanguageFileLoader#mapObject(Object)}. Required by {@link BundleLanguageLoader} to cache parsed files.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public interface RawLanguageFileLoader {
+
+    /**
+     * Parse a file into its flattened keys and raw values.
+     *
+     * @param file The language file.
+     * @return The raw messages, or an empty {@link Optional} if the file contains none.
+     * @throws IOException If the file could not be read.
+     */
+    Optional<Map<String, Object>> loadRaw(File file) throws IOException;
+
+}
@@ -1,21 +1,39 @@
 package com.github.thesilentpro.localization.fileloader;
 
+import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.events.*;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.reader.UnicodeReader;
+import org.yaml.snakeyaml.resolver.Resolver;
 import com.github.thesilentpro.localization.api.Language;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * @author TheSilentPro (Silent)
  */
-public class YamlLanguageFileLoader<T> extends LanguageFileLoader<T> {
+public class YamlLanguageFileLoader<T> extends LanguageFileLoader<T> implements RawLanguageFileLoader {
+
+    private static final Resolver RESOLVER = new Resolver();
 
     private Yaml yaml;
+    private Supplier<Yaml> yamlFactory = Yaml::new;
 
     public YamlLanguageFileLoader(Class<?> clazzLoader, String resourcesPath, File container) {
         super(clazzLoader, resourcesPath, container);
@@ -28,27 +46,199 @@ public class YamlLanguageFileLoader<T> extends LanguageFileLoader<T> {
 
     @Override
     public Optional<Language<T>> load(File file) throws IOException {
+        return loadRaw(file).map(raw -> new Language<>(resolveLanguageName(file.getName()), mapMessages(raw)));
+    }
+
+    /**
+     * Parse a file through the event API of SnakeYAML, writing straight into the flattened table without building the document tree.
+     * Documents using anchors, aliases, explicit tags or complex keys are parsed as a tree instead.
+     * <p>
+     * Keys are always taken as the text they are written as. Plain keys such as {@code on}, {@code no} or {@code 1}
+     * are therefore the keys {@code "on"}, {@code "no"} and {@code "1"}, while building the tree resolves them to booleans and integers,
+     * which failed to load before. Documents parsed as a tree still resolve keys like that.
+     * Values are typed exactly like in a tree.
+     */
+    @Override
+    public Optional<Map<String, Object>> loadRaw(File file) throws IOException {
         if (file == null || !file.exists()) {
             throw new IllegalArgumentException("File is null or does not exist");
         }
-        if (this.yaml == null) {
-            this.yaml = new Yaml();
+        // Yaml instances are not thread-safe, parallel and lazy loads use one instance per file.
+        Yaml yaml = isParallel() || isSingleLoad() ? yamlFactory.get() : getOrCreateYaml();
+        try (Reader reader = new UnicodeReader(new BufferedInputStream(new FileInputStream(file)))) {
+            Iterator<Event> events = yaml.parse(reader).iterator();
+            while (events.hasNext()) {
+                Event event = events.next();
+                if (event instanceof MappingStartEvent) {
+                    Map<String, Object> flattenedMessages = new HashMap<>();
+                    parseMapping(events, new StringBuilder(64), flattenedMessages, yaml);
+                    return Optional.of(flattenedMessages);
+                }
+                if (!(event instanceof StreamStartEvent || event instanceof DocumentStartEvent)) {
+                    return Optional.empty(); // Empty document
+                }
+            }
+            return Optional.empty();
+        } catch (TreeRequired ex) {
+            return loadTree(file, yaml);
         }
+    }
+
+    private Optional<Map<String, Object>> loadTree(File file, Yaml yaml) throws IOException {
         try (FileInputStream fis = new FileInputStream(file)) {
             Map<String, Object> loadedMessages = yaml.loadAs(fis, Map.class);
 
             if (loadedMessages != null) {
-                Map<String, T> flattenedMessages = new HashMap<>();
-                flattenMessages(loadedMessages, "", flattenedMessages);
-
-                return Optional.of(new Language<>(resolveLanguageName(file.getName()), flattenedMessages));
+                Map<String, Object> flattenedMessages = new HashMap<>();
+                flattenRaw(loadedMessages, "", flattenedMessages);
+                return Optional.of(flattenedMessages);
             } else {
                 return Optional.empty();
             }
         }
     }
 
-    public void setYaml(Yaml yaml) {
+    /**
+     * Flatten a mapping, the opening event was already consumed.
+     * The key prefix buffer is shared by all levels and restored after every entry.
+     */
+    private void parseMapping(Iterator<Event> events, StringBuilder prefix, Map<String, Object> flattened, Yaml yaml) {
+        while (true) {
+            Event event = events.next();
+            if (event instanceof MappingEndEvent) {
+                return;
+            }
+            if (!(event instanceof ScalarEvent key) || key.getAnchor() != null) {
+                throw TreeRequired.INSTANCE;
+            }
+
+            int length = prefix.length();
+            if (length > 0) {
+                prefix.append('.');
+            }
+            prefix.append(key.getValue());
+
+            Event value = events.next();
+            if (value instanceof MappingStartEvent mapping) {
+                if (mapping.getAnchor() != null) {
+                    throw TreeRequired.INSTANCE;
+                }
+                parseMapping(events, prefix, flattened, yaml);
+            } else {
+                flattened.put(intern(prefix.toString()), parseValue(value, events, yaml));
+            }
+            prefix.setLength(length);
+        }
+    }
+
+    /**
+     * Parse a value which is not flattened (scalars and sequences), the opening event was already consumed.
+     */
+    private Object parseValue(Event event, Iterator<Event> events, Yaml yaml) {
+        switch (event) {
+            case ScalarEvent scalar when scalar.getAnchor() == null && scalar.getTag() == null -> {
+                return scalar(scalar, yaml);
+            }
+            case SequenceStartEvent sequence when sequence.getAnchor() == null -> {
+                List<Object> list = new ArrayList<>();
+                Event next;
+                while (!((next = events.next()) instanceof SequenceEndEvent)) {
+                    list.add(parseValue(next, events, yaml));
+                }
+                return list;
+            }
+            case MappingStartEvent mapping when mapping.getAnchor() == null -> {
+                // Only reached for mappings nested in sequences, which are kept as they are
+                Map<String, Object> map = new LinkedHashMap<>();
+                Event next;
+                while (!((next = events.next()) instanceof MappingEndEvent)) {
+                    if (!(next instanceof ScalarEvent key)) {
+                        throw TreeRequired.INSTANCE;
+                    }
+                    map.put(key.getValue(), parseValue(events.next(), events, yaml));
+                }
+                return map;
+            }
+            default -> throw TreeRequired.INSTANCE;
+        }
+    }
+
+    private Object scalar(ScalarEvent scalar, Yaml yaml) {
+        String value = scalar.getValue();
+        if (!scalar.getImplicit().canOmitTagInPlainScalar()) {
+            return intern(value); // Quoted
+        }
+
+        Tag tag = RESOLVER.resolve(NodeId.scalar, value, true);
+        if (Tag.STR.equals(tag)) {
+            return intern(value);
+        }
+        if (Tag.NULL.equals(tag)) {
+            return null;
+        }
+        return yaml.load(value); // Numbers and booleans, constructed exactly like in a tree
+    }
+
+    /**
+     * Thrown when the document uses features that can only be handled by building the tree.
+     */
+    private static final class TreeRequired extends RuntimeException {
+
+        private static final TreeRequired INSTANCE = new TreeRequired();
+
+        private TreeRequired() {
+            super(null, null, false, false);
+        }
+
+    }
+
+    /**
+     * Append the keys missing from the file to its end, leaving the existing content and comments untouched.
+     * Keys missing from an existing section are appended with their full dotted key (e.g. {@code a.b: value}),
+     * which is flattened to the same key when loading.
+     */
+    @Override
+    protected void mergeDefaults(InputStream defaults, File file) throws IOException {
+        Yaml yaml = yamlFactory.get(); // Defaults may be created while another thread loads lazily
+        String content;
+        try (Reader reader = new UnicodeReader(new FileInputStream(file))) {
+            StringWriter writer = new StringWriter();
+            reader.transferTo(writer);
+            content = writer.toString();
+        }
+        Map<String, Object> source = yaml.load(new UnicodeReader(defaults));
+        if (source == null) {
+            return;
+        }
+        Map<String, Object> target = yaml.load(content);
+
+        Map<String, Object> missing = missingDefaults(target != null ? target : Map.of(), source);
+        if (missing.isEmpty()) {
+            return;
+        }
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        String separator = content.isEmpty() || content.endsWith("\n") ? "" : System.lineSeparator();
+        writeAtomically(file, content + separator + new Yaml(options).dump(missing));
+    }
+
+    private synchronized Yaml getOrCreateYaml() {
+        if (this.yaml == null) {
+            this.yaml = yamlFactory.get();
+        }
+        return this.yaml;
+    }
+
+    /**
+     * Set the factory used to create {@link Yaml} instances, used once per file when loading in parallel or lazily.
+     *
+     * @param yamlFactory The factory.
+     */
+    public void setYamlFactory(Supplier<Yaml> yamlFactory) {
+        this.yamlFactory = yamlFactory;
+    }
+
+    public synchronized void setYaml(Yaml yaml) {
         this.yaml = yaml;
     }
 
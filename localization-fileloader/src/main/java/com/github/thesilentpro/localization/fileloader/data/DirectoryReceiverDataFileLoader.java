@@ -0,0 +1,109 @@
+package com.github.thesilentpro.localization.fileloader.data;
+
+import com.github.thesilentpro.localization.api.loader.LazyReceiverDataLoader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A {@link LazyReceiverDataLoader} which stores every receiver in its own small file inside a directory,
+ * so single receivers can be loaded and saved without touching the others.
+ * <p>
+ * Files are sharded into subdirectories by the first two characters of the serialized receiver,
+ * which must therefore be a valid file name (e.g. a UUID). Writes go to a temporary file which is atomically moved in place.
+ *
+ * @param <T> Receiver type
+ * @author TheSilentPro (Silent)
+ */
+public abstract class DirectoryReceiverDataFileLoader<T> extends ReceiverDataFileLoader<T> implements LazyReceiverDataLoader<T> {
+
+    private static final String EXTENSION = ".lang";
+
+    public DirectoryReceiverDataFileLoader(File directory) {
+        super(directory);
+    }
+
+    @Override
+    @Nullable
+    public String load(@NotNull T receiver) {
+        try {
+            return Files.readString(path(serialize(receiver)), StandardCharsets.UTF_8).trim();
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    @Override
+    public void save(T receiver, String language) {
+        Path path = path(serialize(receiver));
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.writeString(temp, language, StandardCharsets.UTF_8);
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    @Override
+    public void remove(T receiver) {
+        try {
+            Files.deleteIfExists(path(serialize(receiver)));
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Load all stored receivers.
+     */
+    @Override
+    public Map<T, String> load() {
+        Map<T, String> result = new HashMap<>();
+        if (!getFile().isDirectory()) {
+            return result;
+        }
+
+        try (Stream<Path> files = Files.walk(getFile().toPath(), 2)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                String name = path.getFileName().toString();
+                if (!name.endsWith(EXTENSION) || !Files.isRegularFile(path)) {
+                    continue;
+                }
+                result.put(deserialize(name.substring(0, name.length() - EXTENSION.length())), Files.readString(path, StandardCharsets.UTF_8).trim());
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        return result;
+    }
+
+    /**
+     * Save all receivers, one file each.
+     */
+    @Override
+    public void save(Map<T, String> data) {
+        for (Map.Entry<T, String> entry : data.entrySet()) {
+            save(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private Path path(String key) {
+        String shard = key.length() >= 2 ? key.substring(0, 2) : "_";
+        return getFile().toPath().resolve(shard).resolve(key + EXTENSION);
+    }
+
+}
@@ -0,0 +1,395 @@
+package com.github.thesilentpro.localization.fileloader.data;
+
+import com.github.thesilentpro.localization.api.loader.IncrementalReceiverDataLoader;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * A {@link ReceiverDataFileLoader} which appends every change to a journal next to the snapshot file,
+ * so saving costs a single small write instead of rewriting all receivers.
+ * <p>
+ * On load, the snapshot is read and the journal is replayed on top of it.
+ * Once the journal grows past the compaction threshold, it is rotated and merged into a new snapshot in the background.
+ * Appends only wait for the rotation, not for the snapshot to be written.
+ * Snapshots are written to a temporary file and atomically moved in place, and every journal record carries a checksum,
+ * so a crash mid-write never loses the snapshot and a torn record at the end of the journal is discarded.
+ * <p>
+ * Every append is handed to the operating system right away, so it survives a crash of the process.
+ * Like snapshots, which are synced before being moved in place, appends are only forced to the disk by {@link #flush()},
+ * so a power loss can drop the changes made since the last flush (i.e. since the last save of the receiver data), but never corrupts the journal.
+ * <p>
+ * {@link #close()} stops the background compaction, the loader stays usable for appends afterward.
+ *
+ * @param <T> Receiver type
+ * @author TheSilentPro (Silent)
+ */
+public abstract class JournalReceiverDataFileLoader<T> extends ReceiverDataFileLoader<T> implements IncrementalReceiverDataLoader<T>, AutoCloseable {
+
+    private static final byte SET = 1;
+    private static final byte REMOVE = 2;
+    private static final int MAX_RECORD_SIZE = 1 << 16;
+
+    private final File journal;
+    private final File rotated; // Journal being merged into the snapshot
+    private final Object lock = new Object(); // Guards the active journal
+    private final Object snapshotLock = new Object(); // Guards the snapshot and the rotated journal, acquired before lock
+    private final AtomicBoolean compacting = new AtomicBoolean(); // A background merge is scheduled or running
+    private final ExecutorService compactor;
+
+    private FileOutputStream file; // Underlying the journal stream, synced by flush()
+    private DataOutputStream out;
+    private int records; // Records in the active journal
+    private int compactionThreshold = 10_000;
+
+    public JournalReceiverDataFileLoader(File file) {
+        super(file);
+        this.journal = new File(file.getPath() + ".journal");
+        this.rotated = new File(file.getPath() + ".journal.old");
+        this.compactor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "Localization-Journal-" + file.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Map<T, String> load() {
+        Map<String, String> raw;
+        synchronized (snapshotLock) {
+            synchronized (lock) {
+                closeJournal();
+                raw = readSnapshot();
+                if (rotated.exists()) {
+                    replay(rotated, raw);
+                }
+                this.records = replay(journal, raw);
+            }
+        }
+
+        Map<T, String> result = new HashMap<>();
+        for (Map.Entry<String, String> entry : raw.entrySet()) {
+            result.put(deserialize(entry.getKey()), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Write a full snapshot and discard the journal.
+     */
+    @Override
+    public void save(Map<T, String> data) {
+        Map<String, String> raw = new HashMap<>();
+        for (Map.Entry<T, String> entry : data.entrySet()) {
+            raw.put(serialize(entry.getKey()), entry.getValue());
+        }
+
+        synchronized (snapshotLock) {
+            synchronized (lock) {
+                try {
+                    writeSnapshot(raw);
+                    closeJournal();
+                    Files.deleteIfExists(journal.toPath());
+                    Files.deleteIfExists(rotated.toPath());
+                    this.records = 0;
+                } catch (IOException ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void save(T receiver, String language) {
+        append(SET, serialize(receiver), language);
+    }
+
+    @Override
+    public void remove(T receiver) {
+        append(REMOVE, serialize(receiver), null);
+    }
+
+    /**
+     * Force all appended records to the disk.
+     */
+    @Override
+    public void flush() {
+        synchronized (lock) {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.flush();
+                file.getFD().sync();
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+
+    /**
+     * Flush and close the journal, then stop the background compaction, waiting for a running merge to finish.
+     * A journal rotated but not merged yet is merged by the next compaction.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            flush();
+            closeJournal();
+        }
+        compactor.shutdown();
+        try {
+            if (!compactor.awaitTermination(30, TimeUnit.SECONDS)) {
+                compactor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            compactor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Merge the journal into the snapshot now, on the calling thread.
+     */
+    public void compact() {
+        synchronized (lock) {
+            if (!rotate()) {
+                return;
+            }
+        }
+        merge();
+    }
+
+    private void append(byte op, String key, String language) {
+        byte[] payload = encode(op, key, language);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        synchronized (lock) {
+            try {
+                if (out == null) {
+                    file = new FileOutputStream(journal, true);
+                    out = new DataOutputStream(new BufferedOutputStream(file));
+                }
+                out.writeInt(payload.length);
+                out.write(payload);
+                out.writeInt((int) crc.getValue());
+                out.flush();
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+
+            // Only one merge in flight, appends past the threshold do not queue further ones
+            if (++records >= compactionThreshold && compacting.compareAndSet(false, true)) {
+                if (rotate()) {
+                    try {
+                        compactor.execute(() -> {
+                            try {
+                                merge();
+                            } finally {
+                                compacting.set(false);
+                            }
+                        });
+                    } catch (RejectedExecutionException ex) {
+                        compacting.set(false); // Closed, merged by the next compaction
+                    }
+                } else {
+                    compacting.set(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Move the active journal aside, so appends continue in a fresh one while it is merged. Must hold the journal lock.
+     *
+     * @return True if there is a rotated journal to merge.
+     */
+    private boolean rotate() {
+        if (rotated.exists()) {
+            // A previous compaction is still running (or was interrupted by a crash)
+            return true;
+        }
+        if (!journal.exists()) {
+            return false;
+        }
+        try {
+            closeJournal();
+            Files.move(journal.toPath(), rotated.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            this.records = 0;
+            return true;
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Merge the rotated journal into the snapshot. Appends to the active journal continue meanwhile.
+     */
+    private void merge() {
+        synchronized (snapshotLock) {
+            // A full save may have replaced the snapshot in the meantime
+            if (!rotated.exists()) {
+                return;
+            }
+            try {
+                Map<String, String> raw = readSnapshot();
+                replay(rotated, raw);
+                writeSnapshot(raw);
+                Files.deleteIfExists(rotated.toPath());
+            } catch (IOException | RuntimeException ex) {
+                //noinspection CallToPrintStackTrace
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    private Map<String, String> readSnapshot() {
+        Map<String, String> raw = new HashMap<>();
+        if (!getFile().exists()) {
+            return raw;
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(getFile().toPath(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+            raw.put(entry.getKey().toString(), entry.getValue().toString());
+        }
+        return raw;
+    }
+
+    private void writeSnapshot(Map<String, String> raw) {
+        Properties properties = new Properties();
+        properties.putAll(raw);
+        writeAtomically(writer -> properties.store(writer, null));
+    }
+
+    /**
+     * Apply all valid records of a journal.
+     * Everything after the first incomplete or corrupt record is cut off, so later appends stay readable.
+     *
+     * @return The number of records applied.
+     */
+    private int replay(File file, Map<String, String> raw) {
+        if (!file.exists()) {
+            return 0;
+        }
+
+        int count = 0;
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length = in.readInt();
+                if (length <= 0 || length > MAX_RECORD_SIZE) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                int checksum = in.readInt();
+
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                apply(payload, raw);
+                valid += Integer.BYTES * 2 + length;
+                count++;
+            }
+        } catch (EOFException ignored) {
+            // Torn write at the end of the journal
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            if (channel.size() > valid) {
+                channel.truncate(valid);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        return count;
+    }
+
+    private static byte[] encode(byte op, String key, String language) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream data = new DataOutputStream(bytes)) {
+            data.writeByte(op);
+            data.writeUTF(key);
+            if (op == SET) {
+                data.writeUTF(language);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void apply(byte[] payload, Map<String, String> raw) throws IOException {
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = data.readByte();
+        String key = data.readUTF();
+        switch (op) {
+            case SET -> raw.put(key, data.readUTF());
+            case REMOVE -> raw.remove(key);
+            default -> throw new IOException("Unknown journal record: " + op);
+        }
+    }
+
+    private void closeJournal() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        } finally {
+            out = null;
+            file = null;
+        }
+    }
+
+    public File getJournal() {
+        return journal;
+    }
+
+    public int getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Set the number of journal records after which the journal is merged into the snapshot in the background.
+     *
+     * @param compactionThreshold The threshold.
+     */
+    public void setCompactionThreshold(int compactionThreshold) {
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Compaction threshold must be positive!");
+        }
+        synchronized (lock) {
+            this.compactionThreshold = compactionThreshold;
+        }
+    }
+
+}
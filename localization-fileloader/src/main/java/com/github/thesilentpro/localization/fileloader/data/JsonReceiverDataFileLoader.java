@@ -5,7 +5,6 @@ import com.google.gson.reflect.TypeToken;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.HashMap;
@@ -46,11 +45,8 @@ public class JsonReceiverDataFileLoader<T> extends ReceiverDataFileLoader<T> {
         if (data == null || data.isEmpty()) {
             throw new IllegalArgumentException("Data is null or empty!");
         }
-        try (FileWriter writer = new FileWriter(getFile())) {
-            gson.toJson(data, writer);
-        } catch (IOException ex) {
-            throw new RuntimeException(ex);
-        }
+        Gson gson = this.gson;
+        writeAtomically(writer -> gson.toJson(data, writer));
     }
 
 }
\ No newline at end of file
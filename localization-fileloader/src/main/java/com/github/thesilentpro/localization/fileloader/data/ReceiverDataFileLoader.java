@@ -3,6 +3,9 @@ package com.github.thesilentpro.localization.fileloader.data;
 import com.github.thesilentpro.localization.api.loader.ReceiverDataLoader;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -54,11 +57,38 @@ public abstract class ReceiverDataFileLoader<T> implements ReceiverDataLoader<T>
         for (Map.Entry<T, String> entry : data.entrySet()) {
             properties.setProperty(serialize(entry.getKey()), entry.getValue());
         }
-        try (FileWriter writer = new FileWriter(this.file)) {
-            properties.store(writer, null);
+        writeAtomically(writer -> properties.store(writer, null));
+    }
+
+    /**
+     * Write the file without ever leaving it half-written:
+     * the content goes to a temporary file, which is synced and then atomically moved in place.
+     *
+     * @param action Writes the content.
+     */
+    protected void writeAtomically(WriteAction action) {
+        File temp = new File(this.file.getPath() + ".tmp");
+        try (FileOutputStream stream = new FileOutputStream(temp);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
+            action.write(writer);
+            writer.flush();
+            stream.getFD().sync();
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+
+        try {
+            Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException ex) {
             throw new RuntimeException(ex);
         }
     }
 
+    @FunctionalInterface
+    protected interface WriteAction {
+
+        void write(Writer writer) throws IOException;
+
+    }
+
 }
\ No newline at end of file
@@ -47,11 +47,8 @@ public class YamlReceiverDataFileLoader<T> extends ReceiverDataFileLoader<T> {
         if (data == null || data.isEmpty()) {
             throw new NullPointerException("Data is null or empty!");
         }
-        try (FileWriter writer = new FileWriter(getFile())) {
-            yaml.dump(data, writer);
-        } catch (IOException ex) {
-            throw new RuntimeException(ex);
-        }
+        Yaml yaml = this.yaml;
+        writeAtomically(writer -> yaml.dump(data, writer));
     }
 
 }
@@ -0,0 +1,149 @@
+package com.github.thesilentpro.localization.paper;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Delivers messages on the thread owning the receiver.
+ * <p>
+ * On regionized servers (Folia) this is the receiver's entity scheduler, otherwise the main thread.
+ * If the calling thread already owns the receiver, the message is sent right away.
+ * Receivers are usually players, but any entity can receive messages.
+ * Otherwise, all messages for the same receiver are batched and delivered by a single scheduled task, in order.
+ * <p>
+ * Off the main thread of a non-regionized server, the receiver is only looked up by the scheduled task,
+ * so entity state is never read off the main thread. Messages for a receiver that is gone by then are dropped.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class MessageDispatcher {
+
+    private static final boolean REGIONIZED = detectRegionized();
+
+    private final Plugin plugin;
+    private final Map<UUID, Queue<Component>> pending = new ConcurrentHashMap<>(); // Receiver, Messages waiting for delivery
+
+    public MessageDispatcher(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Deliver a message on the thread owning the receiver.
+     *
+     * @param receiver The receiver.
+     * @param message The message.
+     * @throws IllegalArgumentException If the receiver is looked up right away (on the main thread, or on regionized servers)
+     *                                  and there is no online player or loaded entity with the uuid.
+     */
+    public void dispatch(@NotNull UUID receiver, @NotNull Component message) {
+        if (!REGIONIZED && !Bukkit.isPrimaryThread()) {
+            // Looked up by the scheduled task
+            if (enqueue(receiver, message)) {
+                Bukkit.getScheduler().runTask(plugin, () -> flush(receiver));
+            }
+            return;
+        }
+
+        // Players and entities can be looked up from any thread on regionized servers
+        Entity entity = lookup(receiver);
+        if (entity == null) {
+            throw new IllegalArgumentException("Invalid receiver with uuid: " + receiver);
+        }
+
+        // Send right away if possible, unless earlier messages are still waiting, so ordering is kept.
+        if (isOwnedByCurrentThread(entity) && !pending.containsKey(receiver)) {
+            entity.sendMessage(message);
+            return;
+        }
+
+        if (enqueue(receiver, message)) {
+            schedule(entity);
+        }
+    }
+
+    /**
+     * Add a message to the batch of the receiver.
+     *
+     * @return True if a new batch was started, which has to be scheduled.
+     */
+    private boolean enqueue(UUID receiver, Component message) {
+        boolean[] schedule = new boolean[1];
+        pending.compute(receiver, (uuid, queue) -> {
+            if (queue == null) {
+                queue = new ConcurrentLinkedQueue<>();
+                schedule[0] = true;
+            }
+            queue.add(message);
+            return queue;
+        });
+        return schedule[0];
+    }
+
+    private void schedule(Entity entity) {
+        UUID receiver = entity.getUniqueId();
+        if (REGIONIZED) {
+            // Retired: the entity left or was removed, drop the batch
+            if (entity.getScheduler().run(plugin, task -> flush(receiver), () -> pending.remove(receiver)) == null) {
+                pending.remove(receiver);
+            }
+        } else {
+            Bukkit.getScheduler().runTask(plugin, () -> flush(receiver));
+        }
+    }
+
+    private void flush(UUID receiver) {
+        Queue<Component> queue = pending.remove(receiver);
+        Entity entity = lookup(receiver);
+        if (queue == null || entity == null) {
+            return;
+        }
+
+        Component message;
+        while ((message = queue.poll()) != null) {
+            entity.sendMessage(message);
+        }
+    }
+
+    /**
+     * Look up an online player, falling back to any loaded entity.
+     */
+    @Nullable
+    private static Entity lookup(UUID receiver) {
+        Player player = Bukkit.getPlayer(receiver);
+        return player != null ? player : Bukkit.getEntity(receiver);
+    }
+
+    private static boolean isOwnedByCurrentThread(Entity entity) {
+        return REGIONIZED ? Bukkit.isOwnedByCurrentRegion(entity) : Bukkit.isPrimaryThread();
+    }
+
+    /**
+     * Check whether the server is regionized (Folia).
+     *
+     * @return True if regionized.
+     */
+    public static boolean isRegionized() {
+        return REGIONIZED;
+    }
+
+    private static boolean detectRegionized() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException ex) {
+            return false;
+        }
+    }
+
+}
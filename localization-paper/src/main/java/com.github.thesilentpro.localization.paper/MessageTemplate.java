@@ -0,0 +1,175 @@
+package com.github.thesilentpro.localization.paper;
+
+import com.github.thesilentpro.localization.api.placeholder.Placeholders;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * A message compiled once at load time.
+ * Holds the deserialized {@link Component} together with the external placeholder slots (e.g. {@code %player_name%}) it contains,
+ * so rendering only has to fill in the slots instead of re-parsing MiniMessage.
+ * The placeholders are found using {@link Placeholders#find(String)}.
+ * <p>
+ * Placeholder values are parsed as MiniMessage, so formatted values (e.g. a {@code <red>[Admin]} prefix) render as before.
+ * Unlike re-parsing the whole message, a tag left open by a value does not style the text following the placeholder.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class MessageTemplate {
+
+    private final Component component;
+    private final String[] placeholders;
+    private final Pattern slotPattern;
+
+    /**
+     * The raw MiniMessage source, only kept if a placeholder is (also) located outside the text content (e.g. inside a click or hover event),
+     * in which case the slots can not be filled in and the message has to be re-parsed.
+     */
+    private final String source;
+
+    private MessageTemplate(Component component, String[] placeholders, @Nullable String source) {
+        this.component = component;
+        this.placeholders = placeholders;
+        this.slotPattern = placeholders.length > 0 && source == null
+                ? Pattern.compile(Arrays.stream(placeholders).map(Pattern::quote).collect(Collectors.joining("|")))
+                : null;
+        this.source = source;
+    }
+
+    /**
+     * Create a template for a component without any placeholders.
+     *
+     * @param component The component.
+     * @return The template.
+     */
+    @NotNull
+    public static MessageTemplate of(@NotNull Component component) {
+        return new MessageTemplate(component, Placeholders.NONE, null);
+    }
+
+    /**
+     * Compile a raw MiniMessage string.
+     *
+     * @param raw The MiniMessage string.
+     * @return The compiled template.
+     */
+    @NotNull
+    public static MessageTemplate compile(@NotNull String raw) {
+        return compile(MiniMessage.miniMessage().deserialize(raw), raw);
+    }
+
+    /**
+     * Compile an already deserialized component.
+     * This serializes the component once, prefer {@link #compile(String)} if the raw string is available.
+     *
+     * @param component The component.
+     * @return The compiled template.
+     */
+    @NotNull
+    public static MessageTemplate compile(@NotNull Component component) {
+        return compile(component, MiniMessage.miniMessage().serialize(component));
+    }
+
+    private static MessageTemplate compile(Component component, String raw) {
+        String[] placeholders = Placeholders.find(raw);
+        if (placeholders.length == 0) {
+            return of(component);
+        }
+
+        // Every occurrence of a placeholder must be in the text content, otherwise slots can not be filled in.
+        // An occurrence missing from the plain text is inside a tag, e.g. a click event or hover text.
+        String plain = PlainTextComponentSerializer.plainText().serialize(component);
+        for (String placeholder : placeholders) {
+            if (count(raw, placeholder) > count(plain, placeholder)) {
+                return new MessageTemplate(component, placeholders, raw);
+            }
+        }
+
+        return new MessageTemplate(component, placeholders, null);
+    }
+
+    private static int count(String text, String placeholder) {
+        int count = 0;
+        int index = 0;
+        while ((index = text.indexOf(placeholder, index)) >= 0) {
+            count++;
+            index += placeholder.length();
+        }
+        return count;
+    }
+
+    /**
+     * Parse a placeholder value, skipping MiniMessage if it can not contain any tags.
+     */
+    private static Component parseValue(String value) {
+        if (value.indexOf('<') < 0 && value.indexOf('\\') < 0) {
+            return Component.text(value);
+        }
+        return MiniMessage.miniMessage().deserialize(value);
+    }
+
+    /**
+     * Render this template.
+     *
+     * @param resolver Resolves a placeholder (or in rare cases the full raw message) into its value, may be null to skip resolution.
+     * @return The rendered component. If there is nothing to resolve, the cached component is returned as is.
+     */
+    @NotNull
+    public Component render(@Nullable UnaryOperator<String> resolver) {
+        if (resolver == null || placeholders.length == 0) {
+            return component;
+        }
+
+        if (source != null) {
+            return MiniMessage.miniMessage().deserialize(resolver.apply(source));
+        }
+
+        Map<String, Component> values = new HashMap<>(placeholders.length * 2);
+        for (String placeholder : placeholders) {
+            values.put(placeholder, parseValue(resolver.apply(placeholder)));
+        }
+
+        return component.replaceText(builder -> builder
+                .match(slotPattern)
+                .replacement((matcher, b) -> {
+                    ComponentLike value = values.get(matcher.group());
+                    return value != null ? value : b;
+                }));
+    }
+
+    /**
+     * Retrieve the cached component.
+     *
+     * @return The component, with placeholders left unresolved.
+     */
+    @NotNull
+    public Component getComponent() {
+        return component;
+    }
+
+    /**
+     * Retrieve the external placeholders this template contains.
+     *
+     * @return The placeholders, including the surrounding '%'.
+     */
+    @NotNull
+    public String[] getPlaceholders() {
+        return placeholders.clone();
+    }
+
+    public boolean hasPlaceholders() {
+        return placeholders.length > 0;
+    }
+
+}
@@ -1,34 +1,77 @@
 package com.github.thesilentpro.localization.paper;
 
+import com.github.thesilentpro.localization.api.Language;
 import net.kyori.adventure.text.Component;
 import com.github.thesilentpro.localization.fileloader.YamlLanguageFileLoader;
-import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Implementation of a custom {@link YamlLanguageFileLoader} for the paper platform.
+ * Every message is compiled into a {@link MessageTemplate} while loading.
+ * Identical MiniMessage strings, e.g. untranslated messages, are deserialized once and share one {@link Component} across all languages.
  *
  * @author TheSilentPro (Silent)
  */
 public class PaperLoader extends YamlLanguageFileLoader<Component> {
 
+    private final Map<Component, MessageTemplate> templates = Collections.synchronizedMap(new IdentityHashMap<>()); // Component instance, Template
+
     public PaperLoader(Class<?> clazzLoader, String resourcesPath, File container) {
         super(clazzLoader, resourcesPath, container);
     }
 
+    @Override
+    public Map<String, Language<Component>> load() throws IOException {
+        this.templates.clear();
+        return super.load();
+    }
+
+    @Override
+    public Optional<Language<Component>> load(String language) throws IOException {
+        this.templates.clear();
+        return super.load(language);
+    }
+
+    @Override
+    public Map<String, Language<Component>> mapLanguages(Map<String, Map<String, Object>> raw) {
+        this.templates.clear();
+        return super.mapLanguages(raw);
+    }
+
     @Override
     public Component mapObject(Object object) {
-        return switch (object) {
-            case String str -> MiniMessage.miniMessage().deserialize(str);
-            case Boolean b -> Component.text(b);
-            case Integer n -> Component.text(n);
-            case Double n -> Component.text(n);
-            case Long n -> Component.text(n);
-            case Float n -> Component.text(n);
-            case Character n -> Component.text(n);
+        MessageTemplate template = switch (object) {
+            case String str -> MessageTemplate.compile(str);
+            case Boolean b -> MessageTemplate.of(Component.text(b));
+            case Integer n -> MessageTemplate.of(Component.text(n));
+            case Double n -> MessageTemplate.of(Component.text(n));
+            case Long n -> MessageTemplate.of(Component.text(n));
+            case Float n -> MessageTemplate.of(Component.text(n));
+            case Character n -> MessageTemplate.of(Component.text(n));
             case null, default -> throw new IllegalArgumentException("Unsupported object: " + object);
         };
+
+        this.templates.put(template.getComponent(), template);
+        return template.getComponent();
+    }
+
+    /**
+     * Retrieve the template compiled for a message loaded by this loader.
+     *
+     * @param message The message, as returned by {@link #mapObject(Object)}.
+     * @return The template, or null if the message was not loaded by this loader.
+     */
+    @Nullable
+    public MessageTemplate getTemplate(@NotNull Component message) {
+        return this.templates.get(message);
     }
 
 }
@@ -1,15 +1,20 @@
 package com.github.thesilentpro.localization.paper;
 
+import com.github.thesilentpro.localization.api.Language;
 import com.github.thesilentpro.localization.api.Localization;
-import me.clip.placeholderapi.PlaceholderAPI;
+import com.github.thesilentpro.localization.api.MessageKey;
+import com.github.thesilentpro.localization.api.UUIDReceiverMap;
+import com.github.thesilentpro.localization.api.loader.LanguageLoader;
+import com.github.thesilentpro.localization.api.metrics.RenderStage;
+import com.github.thesilentpro.localization.api.placeholder.PlaceholderResolver;
+import com.github.thesilentpro.localization.bukkit.DisableListener;
+import com.github.thesilentpro.localization.bukkit.PlaceholderAPIResolver;
+import com.github.thesilentpro.localization.fileloader.BundleLanguageLoader;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
-import net.kyori.adventure.text.minimessage.MiniMessage;
-import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.command.RemoteConsoleCommandSender;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
@@ -18,8 +23,17 @@ import org.slf4j.event.Level;
 import com.github.thesilentpro.localization.api.AbstractLocalization;
 import com.github.thesilentpro.localization.api.ConsoleLogLevel;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
 
@@ -31,15 +45,28 @@ import java.util.regex.Pattern;
 public class PaperLocalization extends AbstractLocalization<Component, String, UUID> {
 
     @SuppressWarnings("RegExpRedundantEscape")
-    private Pattern ARGS_PATTERN = Pattern.compile("\\$\\{(?:(\\d+)(\\+)?|(\\*))\\}", Pattern.CASE_INSENSITIVE); // Example: ${0}, ${2+}, ${*}
+    private volatile Pattern ARGS_PATTERN = Pattern.compile("\\$\\{(?:(\\d+)(\\+)?|(\\*))\\}", Pattern.CASE_INSENSITIVE); // Example: ${0}, ${2+}, ${*}
+
+    private volatile Map<Component, MessageTemplate> templates = new IdentityHashMap<>(); // Component instance, Template
+    private volatile PlaceholderResolver<UUID> placeholderResolver;
+    private final ExecutorService defaultRenderExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile Executor renderExecutor = defaultRenderExecutor;
+
+    private final MessageDispatcher dispatcher;
 
     /**
      * Creates a new {@link Localization} instance.
+     * <p>
+     * If the plugin is already enabled, the instance is {@link #close() closed} when the plugin disables.
+     * Otherwise (e.g. when created in the constructor or {@code onLoad}), {@link #close()} must be called from {@code onDisable}.
      *
      * @param defaultLanguage The default language. Default: en
      */
     public PaperLocalization(@NotNull JavaPlugin plugin, @Nullable String defaultLanguage) {
-        super(defaultLanguage);
+        super(defaultLanguage, new UUIDReceiverMap());
+        this.dispatcher = new MessageDispatcher(plugin);
+        new DisableListener(plugin, this::close);
+        this.placeholderResolver = new PlaceholderAPIResolver(plugin);
         setConsoleLogFunction((level, message) -> {
             ComponentLogger logger = plugin.getComponentLogger();
             Level lvl = toSLF4JLevel(level);
@@ -62,18 +89,50 @@ public class PaperLocalization extends AbstractLocalization<Component, String, U
     @Override
     @NotNull
     public Optional<Component> getMessage(@NotNull UUID uuid, @NotNull String key) {
-        Optional<Component> message = super.getMessage(uuid, key);
+        return resolvePlaceholders(uuid, key, super.getMessage(uuid, key));
+    }
+
+    @Override
+    @NotNull
+    public Optional<Component> getMessage(@NotNull UUID uuid, @NotNull MessageKey key) {
+        return resolvePlaceholders(uuid, key.getKey(), super.getMessage(uuid, key));
+    }
+
+    private Optional<Component> resolvePlaceholders(UUID uuid, String key, Optional<Component> message) {
         if (message.isEmpty()) {
             return message;
         }
 
-        String raw = MiniMessage.miniMessage().serialize(message.get());
+        MessageTemplate template = getTemplate(message.get());
+        if (!template.hasPlaceholders() || !placeholderResolver.isAvailable()) {
+            return Optional.of(template.getComponent());
+        }
+
+        return Optional.of(resolve(template, uuid, key));
+    }
 
-        if (Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null) {
-            raw = PlaceholderAPI.setPlaceholders(Bukkit.getOfflinePlayer(uuid), raw);
+    /**
+     * Renders a template with its placeholders resolved.
+     * When timing renders, the time spent in the resolver and the remaining MiniMessage/component work are recorded separately.
+     */
+    private Component resolve(MessageTemplate template, @Nullable UUID uuid, String key) {
+        UnaryOperator<String> resolver = this.placeholderResolver.bind(uuid);
+        if (!isTimingRenders()) {
+            return template.render(resolver);
         }
 
-        return Optional.of(MiniMessage.miniMessage().deserialize(raw));
+        long[] resolving = new long[1];
+        long start = System.nanoTime();
+        Component rendered = template.render(raw -> {
+            long begin = System.nanoTime();
+            String resolved = resolver.apply(raw);
+            resolving[0] += System.nanoTime() - begin;
+            return resolved;
+        });
+        long total = System.nanoTime() - start;
+        recordStage(uuid, key, RenderStage.PLACEHOLDERS, resolving[0]);
+        recordStage(uuid, key, RenderStage.FORMAT, total - resolving[0]);
+        return rendered;
     }
 
     @Override
@@ -81,71 +140,92 @@ public class PaperLocalization extends AbstractLocalization<Component, String, U
         notNull(receiver, "UUID must not be null!");
         notNull(message, "Message must not be null!");
 
-        Entity entity = Bukkit.getEntity(receiver);
-        if (entity == null) {
-            //noinspection UnnecessaryToStringCall
-            throw new IllegalArgumentException("Invalid receiver with uuid: " + receiver.toString());
+        // Entities may only be accessed from the thread owning them
+        dispatcher.dispatch(receiver, message);
+    }
+
+    public void sendMessage(@NotNull UUID receiver, @NotNull String key, @Nullable UnaryOperator<Component> function, String... args) {
+        notNull(receiver, "Receiver must not be null!");
+        notNull(key, "Key must not be null!");
+
+        if (!isTimingRenders()) {
+            renderMessage(receiver, key, function, args).ifPresent(message -> this.sendTranslatedMessage(receiver, message));
+            return;
         }
 
-        entity.sendMessage(message);
+        long start = System.nanoTime();
+        renderMessage(receiver, key, function, args).ifPresent(message -> {
+            long delivery = System.nanoTime();
+            this.sendTranslatedMessage(receiver, message);
+            long end = System.nanoTime();
+            recordStage(receiver, key, RenderStage.DELIVERY, end - delivery);
+            recordRender(key, end - start);
+        });
     }
 
-    public void sendMessage(@NotNull UUID receiver, @NotNull String key, @Nullable UnaryOperator<Component> function, String... args) {
+    /**
+     * Renders a message for a receiver without sending it.
+     *
+     * @param receiver The receiver.
+     * @param key The message key.
+     * @param function Optional transformation function for the message.
+     * @param args Optional arguments to be used in the message.
+     * @return If present, the rendered message, otherwise an empty {@link Optional}.
+     */
+    @Override
+    @NotNull
+    public Optional<Component> renderMessage(@NotNull UUID receiver, @NotNull String key, @Nullable UnaryOperator<Component> function, @Nullable String... args) {
         notNull(receiver, "Receiver must not be null!");
         notNull(key, "Key must not be null!");
 
-        this.getMessage(receiver, key).ifPresent((message) -> {
-            if (args != null && args.length > 0) {
-                message = message.replaceText(builder -> builder
-                        .match(this.ARGS_PATTERN)
-                        .replacement((matcher, b) -> {
-                            // Check if it's a digit + optional plus
-                            String digitGroup = matcher.group(1);
-                            String plusGroup = matcher.group(2);
-                            String starGroup = matcher.group(3);
-
-                            if (starGroup != null) {
-                                // ${*} → all args joined by space
-                                return Component.text(String.join(" ", args));
-                            }
+        if (function != null || getRenderCache() == null) {
+            return this.getMessage(receiver, key).map(message -> render(receiver, key, message, function, args));
+        }
 
-                            try {
-                                int index = Integer.parseInt(digitGroup) - 1; // 1-based to 0-based
-                                boolean isPlus = plusGroup != null;
+        // Messages with placeholders differ per receiver and are never cached
+        MessageLookup<Component> lookup = lookup(receiver, key);
+        if (lookup == null) {
+            return Optional.empty();
+        }
+        MessageTemplate template = getTemplate(lookup.getMessage());
+        if (template.hasPlaceholders()) {
+            return resolvePlaceholders(receiver, key, Optional.of(lookup.getMessage())).map(resolved -> render(receiver, key, resolved, null, args));
+        }
+        return Optional.of(renderCached(lookup, key, args, () -> render(receiver, key, template.getComponent(), null, args)));
+    }
 
-                                if (index < 0 || index >= args.length) {
-                                    return Component.text("");
-                                }
+    /**
+     * Renders a message asynchronously and delivers it on the thread owning the receiver, see {@link MessageDispatcher}.
+     * Lookup, placeholders, arguments and the transformation function are all processed on the {@link #setRenderExecutor(Executor) render executor},
+     * so placeholders and the function must be safe to use off the main thread.
+     *
+     * @param receiver The receiver.
+     * @param key The message key.
+     * @param function Optional transformation function for the message.
+     * @param args Optional arguments to be used in the message.
+     * @return A future completed once the message was handed over for delivery, with true if the message was present.
+     */
+    @NotNull
+    public CompletableFuture<Boolean> sendMessageAsync(@NotNull UUID receiver, @NotNull String key, @Nullable UnaryOperator<Component> function, @Nullable String... args) {
+        notNull(receiver, "Receiver must not be null!");
+        notNull(key, "Key must not be null!");
 
-                                if (isPlus) {
-                                    // Join all args from index onward
-                                    StringBuilder sb = new StringBuilder();
-                                    for (int i = index; i < args.length; i++) {
-                                        if (i > index) sb.append(" ");
-                                        sb.append(args[i]);
-                                    }
-                                    return Component.text(sb.toString());
-                                } else {
-                                    return Component.text(args[index] != null ? args[index] : "");
-                                }
-                            } catch (NumberFormatException e) {
-                                return Component.text("");
-                            }
-                        })
-                );
-            } else if (args != null && args.length == 0) {
-                // Handle case: args array empty but placeholders present — maybe clear?
-                message = message.replaceText(builder -> builder
-                        .match(this.ARGS_PATTERN)
-                        .replacement(Component.text("")));
-            }
+        return CompletableFuture
+                .supplyAsync(() -> renderMessage(receiver, key, function, args), renderExecutor)
+                .thenApply(message -> {
+                    message.ifPresent(msg -> dispatcher.dispatch(receiver, msg));
+                    return message.isPresent();
+                });
+    }
 
-            if (function != null) {
-                message = function.apply(message);
-            }
+    @NotNull
+    public CompletableFuture<Boolean> sendMessageAsync(@NotNull UUID receiver, @NotNull String key, @Nullable String... args) {
+        return sendMessageAsync(receiver, key, null, args);
+    }
 
-            this.sendTranslatedMessage(receiver, message);
-        });
+    @NotNull
+    public CompletableFuture<Boolean> sendMessageAsync(@NotNull UUID receiver, @NotNull String key) {
+        return sendMessageAsync(receiver, key, null, (String[]) null);
     }
 
     @Override
@@ -155,69 +235,82 @@ public class PaperLocalization extends AbstractLocalization<Component, String, U
             return message;
         }
 
-        String raw = MiniMessage.miniMessage().serialize(message.get());
-
-        if (Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null) {
-            raw = PlaceholderAPI.setPlaceholders(null, raw); // apparently, null is for console
+        MessageTemplate template = getTemplate(message.get());
+        if (!template.hasPlaceholders() || !placeholderResolver.isAvailable()) {
+            return Optional.of(template.getComponent());
         }
 
-        return Optional.of(MiniMessage.miniMessage().deserialize(raw));
+        return Optional.of(resolve(template, null, key));
     }
 
     @Override
     public void sendConsoleMessage(ConsoleLogLevel level, @NotNull String key, @Nullable UnaryOperator<Component> function, String... args) {
         notNull(key, "Key must not be null!");
 
-        getConsoleMessage(key).ifPresent(message -> {
-            if (args != null && args.length > 0) {
-                message = message.replaceText(builder -> builder
-                        .match(ARGS_PATTERN)
-                        .replacement((matcher, b) -> {
-                            String digitGroup = matcher.group(1);
-                            String plusGroup = matcher.group(2);
-                            String starGroup = matcher.group(3);
-
-                            if (starGroup != null) {
-                                // ${*} → all args joined by space
-                                return Component.text(String.join(" ", args));
-                            }
+        getConsoleMessage(key).ifPresent(message -> sendTranslatedConsoleMessage(level, render(null, key, message, function, args)));
+    }
 
-                            try {
-                                int index = Integer.parseInt(digitGroup) - 1; // Convert 1-based to 0-based index
-                                boolean isPlus = plusGroup != null;
+    /**
+     * Applies the arguments and the optional transformation function to a message.
+     */
+    private Component render(@Nullable UUID receiver, String key, Component message, @Nullable UnaryOperator<Component> function, @Nullable String[] args) {
+        if (!isTimingRenders()) {
+            return applyArgs(message, function, args);
+        }
 
-                                if (index < 0 || index >= args.length) {
-                                    return Component.text("");
-                                }
+        long start = System.nanoTime();
+        Component rendered = applyArgs(message, function, args);
+        recordStage(receiver, key, RenderStage.ARGUMENTS, System.nanoTime() - start);
+        return rendered;
+    }
 
-                                if (isPlus) {
-                                    // Join all args from index onward
-                                    StringBuilder sb = new StringBuilder();
-                                    for (int i = index; i < args.length; i++) {
-                                        if (i > index) sb.append(" ");
-                                        sb.append(args[i]);
-                                    }
-                                    return Component.text(sb.toString());
-                                } else {
-                                    return Component.text(args[index] != null ? args[index] : "");
-                                }
-                            } catch (NumberFormatException e) {
+    private Component applyArgs(Component message, @Nullable UnaryOperator<Component> function, @Nullable String[] args) {
+        if (args != null && args.length > 0) {
+            message = message.replaceText(builder -> builder
+                    .match(this.ARGS_PATTERN)
+                    .replacement((matcher, b) -> {
+                        // Check if it's a digit + optional plus
+                        String digitGroup = matcher.group(1);
+                        String plusGroup = matcher.group(2);
+                        String starGroup = matcher.group(3);
+
+                        if (starGroup != null) {
+                            // ${*} → all args joined by space
+                            return Component.text(String.join(" ", args));
+                        }
+
+                        try {
+                            int index = Integer.parseInt(digitGroup) - 1; // 1-based to 0-based
+                            boolean isPlus = plusGroup != null;
+
+                            if (index < 0 || index >= args.length) {
                                 return Component.text("");
                             }
-                        })
-                );
-            } else if (args != null && args.length == 0) {
-                // If args array is empty but placeholders exist, clear placeholders
-                message = message.replaceText(builder -> builder
-                        .match(ARGS_PATTERN)
-                        .replacement(Component.text("")));
-            }
 
-            // Apply optional transformation function
-            message = function != null ? function.apply(message) : message;
+                            if (isPlus) {
+                                // Join all args from index onward
+                                StringBuilder sb = new StringBuilder();
+                                for (int i = index; i < args.length; i++) {
+                                    if (i > index) sb.append(" ");
+                                    sb.append(args[i]);
+                                }
+                                return Component.text(sb.toString());
+                            } else {
+                                return Component.text(args[index] != null ? args[index] : "");
+                            }
+                        } catch (NumberFormatException e) {
+                            return Component.text("");
+                        }
+                    })
+            );
+        } else if (args != null && args.length == 0) {
+            // Handle case: args array empty but placeholders present — maybe clear?
+            message = message.replaceText(builder -> builder
+                    .match(this.ARGS_PATTERN)
+                    .replacement(Component.text("")));
+        }
 
-            sendTranslatedConsoleMessage(level, message);
-        });
+        return function != null ? function.apply(message) : message;
     }
 
     // Auto Resolve
@@ -242,14 +335,133 @@ public class PaperLocalization extends AbstractLocalization<Component, String, U
         sendMessage(receiver, key, null, (String[]) null);
     }
 
+    /**
+     * Sends a message to multiple command senders.
+     * Players are grouped by language, see {@link #sendMessages(String, Object[])}.
+     *
+     * @param key The message key.
+     * @param receivers Receivers to send the message to.
+     */
     public void sendMessage(String key, CommandSender... receivers) {
+        List<UUID> players = new ArrayList<>(receivers.length);
         for (CommandSender receiver : receivers) {
-            sendMessage(receiver, key);
+            if (receiver instanceof Player player) {
+                players.add(player.getUniqueId());
+            } else {
+                sendMessage(receiver, key);
+            }
+        }
+        sendMessages(key, players.toArray(UUID[]::new));
+    }
+
+    @Override
+    protected boolean isReceiverDependent(@NotNull UUID receiver, @NotNull String key) {
+        return peekMessage(receiver, key).map(message -> getTemplate(message).hasPlaceholders()).orElse(false);
+    }
+
+    @Override
+    protected @Nullable Component renderBroadcast(@Nullable UUID receiver, @NotNull Component message) {
+        MessageTemplate template = getTemplate(message);
+        if (!template.hasPlaceholders() || !placeholderResolver.isAvailable()) {
+            return template.getComponent();
+        }
+        return receiver != null ? template.render(placeholderResolver.bind(receiver)) : null;
+    }
+
+    /**
+     * Collects the templates of all loaded messages, reusing the ones compiled by a {@link PaperLoader}.
+     */
+    @Override
+    protected void onLanguagesLoaded(@NotNull LanguageLoader<Component> loader, @NotNull Map<String, Language<Component>> languages) {
+        PaperLoader paperLoader = switch (loader) {
+            case PaperLoader paper -> paper;
+            case BundleLanguageLoader<Component> bundle when bundle.getSource() instanceof PaperLoader paper -> paper;
+            default -> null;
+        };
+
+        Map<Component, MessageTemplate> compiled = new IdentityHashMap<>();
+        for (Language<Component> language : languages.values()) {
+            for (Component message : language.getMessages().values()) {
+                MessageTemplate template = paperLoader != null ? paperLoader.getTemplate(message) : null;
+                if (template == null) {
+                    template = this.templates.get(message);
+                }
+                compiled.put(message, template != null ? template : MessageTemplate.compile(message));
+            }
+        }
+        this.templates = compiled;
+    }
+
+    /**
+     * Retrieve the template of a loaded message.
+     * Messages that were not present while loading (e.g. set manually through {@link Language#setMessage(String, Object)}) are compiled on demand.
+     *
+     * @param message The message.
+     * @return The template.
+     */
+    @NotNull
+    public MessageTemplate getTemplate(@NotNull Component message) {
+        MessageTemplate template = this.templates.get(message);
+        return template != null ? template : MessageTemplate.compile(message);
+    }
+
+    /**
+     * Set the resolver used for external placeholders. Default: {@link PlaceholderAPIResolver}
+     *
+     * @param placeholderResolver The resolver, use {@link PlaceholderResolver#none()} to disable resolution.
+     */
+    public void setPlaceholderResolver(@NotNull PlaceholderResolver<UUID> placeholderResolver) {
+        notNull(placeholderResolver, "Placeholder resolver must not be null!");
+        this.placeholderResolver = placeholderResolver;
+    }
+
+    @NotNull
+    public PlaceholderResolver<UUID> getPlaceholderResolver() {
+        return placeholderResolver;
+    }
+
+    /**
+     * Set the executor used to render messages for {@link #sendMessageAsync(UUID, String, UnaryOperator, String...)}.
+     * Default: One virtual thread per message.
+     *
+     * @param renderExecutor The executor.
+     */
+    public void setRenderExecutor(@NotNull Executor renderExecutor) {
+        notNull(renderExecutor, "Render executor must not be null!");
+        this.renderExecutor = renderExecutor;
+    }
+
+    @NotNull
+    public Executor getRenderExecutor() {
+        return renderExecutor;
+    }
+
+    /**
+     * Release the receiver data resources, see {@link AbstractLocalization#close()},
+     * and shut down the default {@link #setRenderExecutor(Executor) render executor}, waiting briefly for running renders.
+     * Executors set through {@link #setRenderExecutor(Executor)} are owned by the caller and left running.
+     */
+    @Override
+    public void close() {
+        super.close();
+        defaultRenderExecutor.shutdown();
+        try {
+            if (!defaultRenderExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                defaultRenderExecutor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            defaultRenderExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
         }
     }
 
+    @NotNull
+    public MessageDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
     public void setArgsPattern(Pattern pattern) {
-        this.ARGS_PATTERN = pattern;
+        changeRendering(() -> this.ARGS_PATTERN = pattern);
     }
 
     public Pattern getArgsPattern() {
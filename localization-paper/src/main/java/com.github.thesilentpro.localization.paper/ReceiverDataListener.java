@@ -0,0 +1,27 @@
+package com.github.thesilentpro.localization.paper;
+
+import com.github.thesilentpro.localization.api.Localization;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * A {@link com.github.thesilentpro.localization.bukkit.ReceiverDataListener} evicting receivers on the async scheduler.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class ReceiverDataListener extends com.github.thesilentpro.localization.bukkit.ReceiverDataListener {
+
+    /**
+     * Creates and registers a new listener.
+     *
+     * @param plugin The plugin used to register the listener.
+     * @param localization The localization to load receivers into.
+     */
+    public ReceiverDataListener(@NotNull Plugin plugin, @NotNull Localization<?, ?, UUID> localization) {
+        super(plugin, localization, task -> Bukkit.getAsyncScheduler().runNow(plugin, scheduled -> task.run()));
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.github.thesilentpro.localization.spigot;
+
+import com.github.thesilentpro.localization.api.placeholder.Placeholders;
+import org.bukkit.ChatColor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A message compiled once at load time into a list of segments:
+ * literal chunks (kept both raw and colorized), argument slots and external placeholder slots.
+ * Rendering is a single {@link StringBuilder} pass without any regex.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class MessageTemplate {
+
+    private static final int LITERAL = -1;
+    private static final int PLACEHOLDER = -2;
+
+    private final String message;
+    private final String[] parts; // Literal text, or the raw token of a slot
+    private final String[] coloredParts; // Colorized literal text, or the raw token of a slot
+    private final int[] kinds; // LITERAL, PLACEHOLDER or the argument index
+    private final String[] placeholders;
+    private final int literalLength;
+    private final boolean hasArgs;
+
+    private MessageTemplate(String message, String[] parts, String[] coloredParts, int[] kinds, String[] placeholders) {
+        this.message = message;
+        this.parts = parts;
+        this.coloredParts = coloredParts;
+        this.kinds = kinds;
+        this.placeholders = placeholders;
+
+        int length = 0;
+        boolean args = false;
+        for (int i = 0; i < kinds.length; i++) {
+            if (kinds[i] == LITERAL) {
+                length += coloredParts[i].length();
+            } else if (kinds[i] >= 0) {
+                args = true;
+            }
+        }
+        this.literalLength = length;
+        this.hasArgs = args;
+    }
+
+    /**
+     * Compile a message.
+     * The argument index is read from the first capturing group of the pattern, matches without a numeric first group are kept as literal text.
+     *
+     * @param message The raw message.
+     * @param argsPattern The pattern used to locate arguments.
+     * @return The compiled template.
+     */
+    @NotNull
+    public static MessageTemplate compile(@NotNull String message, @NotNull Pattern argsPattern) {
+        List<String> parts = new ArrayList<>();
+        List<Integer> kinds = new ArrayList<>();
+
+        Matcher matcher = argsPattern.matcher(message);
+        int last = 0;
+        while (matcher.find()) {
+            int index = parseIndex(matcher);
+            if (index < 0) {
+                continue;
+            }
+            splitPlaceholders(message.substring(last, matcher.start()), parts, kinds);
+            parts.add(matcher.group());
+            kinds.add(index);
+            last = matcher.end();
+        }
+        splitPlaceholders(message.substring(last), parts, kinds);
+
+        String[] rawParts = parts.toArray(String[]::new);
+        String[] coloredParts = new String[rawParts.length];
+        int[] kindArray = new int[rawParts.length];
+        Set<String> placeholders = new LinkedHashSet<>();
+        for (int i = 0; i < rawParts.length; i++) {
+            kindArray[i] = kinds.get(i);
+            coloredParts[i] = kindArray[i] == LITERAL && rawParts[i].indexOf('&') >= 0
+                    ? ChatColor.translateAlternateColorCodes('&', rawParts[i])
+                    : rawParts[i];
+            if (kindArray[i] == PLACEHOLDER) {
+                placeholders.add(rawParts[i]);
+            }
+        }
+
+        return new MessageTemplate(message, rawParts, coloredParts, kindArray, placeholders.isEmpty() ? Placeholders.NONE : placeholders.toArray(String[]::new));
+    }
+
+    /**
+     * Render this template.
+     * Argument slots without a matching non-null argument, and placeholder slots if no resolver is given, are kept as written.
+     *
+     * @param args The arguments, may be null.
+     * @param resolver Resolves a single placeholder, may be null to skip resolution.
+     * @param colorize Whether the output should be colorized with '&' color codes.
+     * @return The rendered message.
+     */
+    @NotNull
+    public String render(@Nullable String[] args, @Nullable UnaryOperator<String> resolver, boolean colorize) {
+        String[] source = colorize ? coloredParts : parts;
+        if (source.length == 1 && kinds[0] == LITERAL) {
+            return source[0];
+        }
+
+        int capacity = literalLength;
+        if (args != null && hasArgs) {
+            for (String arg : args) {
+                capacity += arg != null ? arg.length() : 0;
+            }
+        }
+
+        StringBuilder builder = new StringBuilder(capacity);
+        for (int i = 0; i < kinds.length; i++) {
+            int kind = kinds[i];
+            if (kind == LITERAL) {
+                builder.append(source[i]);
+            } else if (kind == PLACEHOLDER) {
+                if (resolver == null) {
+                    builder.append(source[i]);
+                } else {
+                    String value = resolver.apply(source[i]);
+                    builder.append(colorize ? ChatColor.translateAlternateColorCodes('&', value) : value);
+                }
+            } else if (args != null && kind < args.length && args[kind] != null) {
+                builder.append(args[kind]);
+            } else {
+                builder.append(source[i]);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Retrieve the raw message this template was compiled from.
+     *
+     * @return The raw message.
+     */
+    @NotNull
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Retrieve the external placeholders this template contains.
+     *
+     * @return The placeholders, including the surrounding '%'.
+     */
+    @NotNull
+    public String[] getPlaceholders() {
+        return placeholders.clone();
+    }
+
+    public boolean hasPlaceholders() {
+        return placeholders.length > 0;
+    }
+
+    private static int parseIndex(Matcher matcher) {
+        if (matcher.groupCount() < 1 || matcher.group(1) == null) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(matcher.group(1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private static void splitPlaceholders(String literal, List<String> parts, List<Integer> kinds) {
+        if (literal.isEmpty()) {
+            return;
+        }
+        if (literal.indexOf('%') < 0) {
+            parts.add(literal);
+            kinds.add(LITERAL);
+            return;
+        }
+
+        Matcher matcher = Placeholders.PATTERN.matcher(literal);
+        int last = 0;
+        while (matcher.find()) {
+            if (matcher.start() > last) {
+                parts.add(literal.substring(last, matcher.start()));
+                kinds.add(LITERAL);
+            }
+            parts.add(matcher.group());
+            kinds.add(PLACEHOLDER);
+            last = matcher.end();
+        }
+        if (last < literal.length()) {
+            parts.add(literal.substring(last));
+            kinds.add(LITERAL);
+        }
+    }
+
+}
@@ -1,9 +1,15 @@
 package com.github.thesilentpro.localization.spigot;
 
+import com.github.thesilentpro.localization.api.Language;
 import com.github.thesilentpro.localization.api.Localization;
-import me.clip.placeholderapi.PlaceholderAPI;
+import com.github.thesilentpro.localization.api.MessageKey;
+import com.github.thesilentpro.localization.api.UUIDReceiverMap;
+import com.github.thesilentpro.localization.api.loader.LanguageLoader;
+import com.github.thesilentpro.localization.api.metrics.RenderStage;
+import com.github.thesilentpro.localization.api.placeholder.PlaceholderResolver;
+import com.github.thesilentpro.localization.bukkit.DisableListener;
+import com.github.thesilentpro.localization.bukkit.PlaceholderAPIResolver;
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.command.RemoteConsoleCommandSender;
@@ -15,12 +21,15 @@ import org.jetbrains.annotations.Nullable;
 import com.github.thesilentpro.localization.api.AbstractLocalization;
 import com.github.thesilentpro.localization.api.ConsoleLogLevel;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -31,22 +40,32 @@ import java.util.regex.Pattern;
 public class SpigotLocalization extends AbstractLocalization<String, String, UUID> {
 
     @SuppressWarnings("RegExpRedundantEscape")
-    private Pattern ARGS_PATTERN = Pattern.compile("\\$\\{(\\d+)\\}", Pattern.CASE_INSENSITIVE); // (\{\$arg(\d+)\}) | Example: ${0}
+    private volatile Pattern ARGS_PATTERN = Pattern.compile("\\$\\{(\\d+)\\}", Pattern.CASE_INSENSITIVE); // (\{\$arg(\d+)\}) | Example: ${0}
 
     /**
      * If true, messages will be colorized with '&' color codes.
+     * Only the message itself and resolved external placeholders are colorized, never the arguments,
+     * and a transformation function receives the already colorized message.
      *
      * @see #setColorize(boolean)
      */
-    private boolean colorize = true;
+    private volatile boolean colorize = true;
+
+    private volatile Map<String, MessageTemplate> templates = new HashMap<>(); // Message, Template
+    private volatile PlaceholderResolver<UUID> placeholderResolver;
 
     /**
      * Creates a new {@link Localization} instance.
+     * <p>
+     * If the plugin is already enabled, the instance is {@link #close() closed} when the plugin disables.
+     * Otherwise (e.g. when created in the constructor or {@code onLoad}), {@link #close()} must be called from {@code onDisable}.
      *
      * @param defaultLanguage The default language. Default: en
      */
     public SpigotLocalization(@NotNull JavaPlugin plugin, @Nullable String defaultLanguage) {
-        super(defaultLanguage);
+        super(defaultLanguage, new UUIDReceiverMap());
+        new DisableListener(plugin, this::close);
+        this.placeholderResolver = new PlaceholderAPIResolver(plugin);
         setConsoleLogFunction((level, message) -> {
             Logger logger = plugin.getLogger();
             Level lvl = toJULLevel(level);
@@ -63,19 +82,32 @@ public class SpigotLocalization extends AbstractLocalization<String, String, UUI
     @Override
     @NotNull
     public Optional<String> getMessage(@NotNull UUID uuid, @NotNull String key) {
-        Optional<String> message = super.getMessage(uuid, key);
+        return resolvePlaceholders(uuid, key, super.getMessage(uuid, key));
+    }
+
+    @Override
+    @NotNull
+    public Optional<String> getMessage(@NotNull UUID uuid, @NotNull MessageKey key) {
+        return resolvePlaceholders(uuid, key.getKey(), super.getMessage(uuid, key));
+    }
+
+    private Optional<String> resolvePlaceholders(UUID uuid, String key, Optional<String> message) {
         if (message.isEmpty()) {
-            return Optional.empty();
+            return message;
         }
 
-        if (Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null) {
-            message = Optional.of(PlaceholderAPI.setPlaceholders(Bukkit.getOfflinePlayer(uuid), message.get()));
+        if (getTemplate(message.get()).hasPlaceholders() && placeholderResolver.isAvailable()) {
+            boolean timed = isTimingRenders();
+            long start = timed ? System.nanoTime() : 0;
+            message = Optional.of(placeholderResolver.resolve(uuid, message.get()));
+            if (timed) {
+                recordStage(uuid, key, RenderStage.PLACEHOLDERS, System.nanoTime() - start);
+            }
         }
 
         return message;
     }
 
-
     @Override
     public void sendTranslatedMessage(@NotNull UUID receiver, @NotNull String message) {
         notNull(receiver, "UUID must not be null!");
@@ -95,44 +127,84 @@ public class SpigotLocalization extends AbstractLocalization<String, String, UUI
         notNull(receiver, "Receiver can not be null!");
         notNull(key, "Key can not be null!");
 
-        getMessage(receiver, key).ifPresent(message -> {
-            if (args != null) {
-                for (String arg : args) {
-                    if (arg != null) {
-                        Matcher matcher = ARGS_PATTERN.matcher(message);
-                        while (matcher.find()) {
-                            message = matcher.replaceAll(args[Integer.parseInt(matcher.group(2))]);
-                        }
-                    }
-                }
-            }
+        boolean timed = isTimingRenders();
+        long start = timed ? System.nanoTime() : 0;
+        MessageLookup<String> lookup = lookup(receiver, key);
+        if (lookup == null) {
+            return;
+        }
+        MessageTemplate template = getTemplate(lookup.getMessage());
+        UnaryOperator<String> resolver = template.hasPlaceholders() && placeholderResolver.isAvailable()
+                ? placeholderResolver.bind(receiver)
+                : null;
+        if (!timed) {
+            sendTranslatedMessage(receiver, render(lookup, key, template, function, resolver, args));
+            return;
+        }
 
-            // Apply function
-            message = function != null ? function.apply(message) : message;
-            sendTranslatedMessage(receiver, colorize ? ChatColor.translateAlternateColorCodes('&', message) : message);
-        });
+        // Arguments and colors are applied in the same pass, so everything but the resolver counts as formatting
+        long[] resolving = new long[1];
+        UnaryOperator<String> timedResolver = resolver == null ? null : placeholder -> {
+            long begin = System.nanoTime();
+            String resolved = resolver.apply(placeholder);
+            resolving[0] += System.nanoTime() - begin;
+            return resolved;
+        };
+        long format = System.nanoTime();
+        String rendered = render(lookup, key, template, function, timedResolver, args);
+        long delivery = System.nanoTime();
+        sendTranslatedMessage(receiver, rendered);
+        long end = System.nanoTime();
+
+        if (timedResolver != null) {
+            recordStage(receiver, key, RenderStage.PLACEHOLDERS, resolving[0]);
+        }
+        recordStage(receiver, key, RenderStage.FORMAT, delivery - format - resolving[0]);
+        recordStage(receiver, key, RenderStage.DELIVERY, end - delivery);
+        recordRender(key, end - start);
+    }
+
+    @Override
+    @NotNull
+    public Optional<String> renderMessage(@NotNull UUID receiver, @NotNull String key, @Nullable UnaryOperator<String> function, @Nullable String... args) {
+        notNull(receiver, "Receiver can not be null!");
+        notNull(key, "Key can not be null!");
+
+        MessageLookup<String> lookup = lookup(receiver, key);
+        if (lookup == null) {
+            return Optional.empty();
+        }
+        MessageTemplate template = getTemplate(lookup.getMessage());
+        UnaryOperator<String> resolver = template.hasPlaceholders() && placeholderResolver.isAvailable()
+                ? placeholderResolver.bind(receiver)
+                : null;
+        return Optional.of(render(lookup, key, template, function, resolver, args));
     }
 
     @Override
     public void sendConsoleMessage(ConsoleLogLevel level, @NotNull String key, @Nullable UnaryOperator<String> function, String @Nullable [] args) {
         notNull(key, "Key must not be null!");
 
-        getConsoleMessage(key).ifPresent(message -> {
-            if (args != null) {
-                for (String arg : args) {
-                    if (arg != null) {
-                        Matcher matcher = ARGS_PATTERN.matcher(message);
-                        while (matcher.find()) {
-                            message = matcher.replaceAll(args[Integer.parseInt(matcher.group(2))]);
-                        }
-                    }
-                }
-            }
+        getConsoleMessage(key).ifPresent(message -> sendTranslatedConsoleMessage(level, render(getTemplate(message), function, null, args)));
+    }
 
-            // Apply function
-            message = function != null ? function.apply(message) : message;
-            sendTranslatedConsoleMessage(level, colorize ? ChatColor.translateAlternateColorCodes('&', message) : message);
-        });
+    /**
+     * Renders a looked up template, through the render cache if the message renders the same for every receiver of the language.
+     */
+    private String render(MessageLookup<String> lookup, String key, MessageTemplate template, @Nullable UnaryOperator<String> function, @Nullable UnaryOperator<String> resolver, @Nullable String[] args) {
+        if (function != null || template.hasPlaceholders()) {
+            return render(template, function, resolver, args);
+        }
+        return renderCached(lookup, key, args, () -> template.render(args, null, colorize));
+    }
+
+    /**
+     * Renders a template in a single pass over the precolorized segments, then applies the function if present.
+     * Arguments are substituted after colorizing, so a '&' in an argument is kept as written on every path.
+     */
+    private String render(MessageTemplate template, @Nullable UnaryOperator<String> function, @Nullable UnaryOperator<String> resolver, @Nullable String[] args) {
+        String message = template.render(args, resolver, colorize);
+        return function != null ? function.apply(message) : message;
     }
 
     // Auto Resolve
@@ -153,22 +225,109 @@ public class SpigotLocalization extends AbstractLocalization<String, String, UUI
         sendMessage(receiver, key, null);
     }
 
+    /**
+     * Sends a message to multiple command senders.
+     * Players are grouped by language, see {@link #sendMessages(String, Object[])}.
+     *
+     * @param key The message key.
+     * @param receivers Receivers to send the message to.
+     */
     public void sendMessage(String key, CommandSender... receivers) {
+        List<UUID> players = new ArrayList<>(receivers.length);
         for (CommandSender receiver : receivers) {
-            sendMessage(receiver, key);
+            if (receiver instanceof Player player) {
+                players.add(player.getUniqueId());
+            } else {
+                sendMessage(receiver, key);
+            }
+        }
+        sendMessages(key, players.toArray(UUID[]::new));
+    }
+
+    @Override
+    protected boolean isReceiverDependent(@NotNull UUID receiver, @NotNull String key) {
+        return peekMessage(receiver, key).map(message -> getTemplate(message).hasPlaceholders()).orElse(false);
+    }
+
+    @Override
+    protected @Nullable String renderBroadcast(@Nullable UUID receiver, @NotNull String message) {
+        MessageTemplate template = getTemplate(message);
+        if (!template.hasPlaceholders() || !placeholderResolver.isAvailable()) {
+            return template.render(null, null, colorize);
+        }
+        return receiver != null ? template.render(null, placeholderResolver.bind(receiver), colorize) : null;
+    }
+
+    /**
+     * Compiles all loaded messages into templates, so sending never has to run a regex.
+     * Templates of messages that were already loaded are reused.
+     */
+    @Override
+    protected void onLanguagesLoaded(@NotNull LanguageLoader<String> loader, @NotNull Map<String, Language<String>> languages) {
+        this.templates = compile(languages, this.templates);
+    }
+
+    private Map<String, MessageTemplate> compile(Map<String, Language<String>> languages, Map<String, MessageTemplate> previous) {
+        Pattern pattern = this.ARGS_PATTERN;
+        Map<String, MessageTemplate> compiled = new HashMap<>();
+        for (Language<String> language : languages.values()) {
+            for (String message : language.getMessages().values()) {
+                compiled.computeIfAbsent(message, msg -> {
+                    MessageTemplate template = previous.get(msg);
+                    return template != null ? template : MessageTemplate.compile(msg, pattern);
+                });
+            }
         }
+        return compiled;
+    }
+
+    /**
+     * Retrieve the template of a message.
+     * Messages that were not present while loading (e.g. set manually through {@link Language#setMessage(String, Object)}) are compiled on demand.
+     *
+     * @param message The raw message.
+     * @return The template.
+     */
+    @NotNull
+    public MessageTemplate getTemplate(@NotNull String message) {
+        MessageTemplate template = this.templates.get(message);
+        return template != null ? template : MessageTemplate.compile(message, ARGS_PATTERN);
+    }
+
+    /**
+     * Set the resolver used for external placeholders. Default: {@link PlaceholderAPIResolver}
+     *
+     * @param placeholderResolver The resolver, use {@link PlaceholderResolver#none()} to disable resolution.
+     */
+    public void setPlaceholderResolver(@NotNull PlaceholderResolver<UUID> placeholderResolver) {
+        notNull(placeholderResolver, "Placeholder resolver must not be null!");
+        this.placeholderResolver = placeholderResolver;
+    }
+
+    @NotNull
+    public PlaceholderResolver<UUID> getPlaceholderResolver() {
+        return placeholderResolver;
     }
 
     public void setColorize(boolean colorize) {
-        this.colorize = colorize;
+        changeRendering(() -> this.colorize = colorize);
     }
 
     public boolean isColorize() {
         return colorize;
     }
 
+    /**
+     * Set the pattern used to locate arguments, the first capturing group must be the argument index.
+     * All loaded messages are recompiled.
+     *
+     * @param pattern The pattern.
+     */
     public void setArgsPattern(Pattern pattern) {
-        this.ARGS_PATTERN = pattern;
+        changeRendering(() -> {
+            this.ARGS_PATTERN = pattern;
+            this.templates = compile(getLanguages(), Map.of()); // Compiled against the previous pattern
+        });
     }
 
     public Pattern getArgsPattern() {